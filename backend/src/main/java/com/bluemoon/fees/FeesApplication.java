@@ -1,5 +1,6 @@
 package com.bluemoon.fees;
 
+import com.bluemoon.fees.datasource.ReplicaRoutingDataSource;
 import com.bluemoon.fees.entity.User;
 import com.bluemoon.fees.repository.UserRepository;
 import org.springframework.boot.CommandLineRunner;
@@ -17,7 +18,7 @@ public class FeesApplication {
     @Bean
     public CommandLineRunner initializeUsers(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         return args -> {
-            if (userRepository.count() == 0) {
+            if (ReplicaRoutingDataSource.onPrimary(userRepository::count) == 0) {
                 System.out.println("No users found, creating default admin user...");
                 
                 User adminUser = User.builder()
@@ -0,0 +1,87 @@
+package com.bluemoon.fees.batch;
+
+import com.bluemoon.fees.util.Bulkhead;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs GET sub-requests through the {@code DispatcherServlet} on the batch bulkhead. The servlet
+ * filter chain is skipped: the batch request was authenticated once, each item was checked and
+ * charged to its route's rate limit by the caller, and the security context is carried over to
+ * the pool threads, so method security still applies.
+ * Each sub-request runs in one read-only transaction, which lets all of its queries share a
+ * connection and sends them to the replica when one is configured.
+ */
+@Component
+public class BatchDispatcher {
+
+    /** A finished sub-request. */
+    public record Result(int status, Map<String, List<String>> headers, String contentType, byte[] body) {
+    }
+
+    private final DispatcherServlet dispatcherServlet;
+    private final Bulkhead batchBulkhead;
+    private final TransactionTemplate readOnly;
+
+    // Covers the whole sub-request; the bulkhead's own timeout stops once an async handler returns
+    @Value("${batch.bulkhead.timeout-ms:10000}")
+    private long timeoutMillis;
+
+    public BatchDispatcher(DispatcherServlet dispatcherServlet, Bulkhead batchBulkhead,
+                           PlatformTransactionManager transactionManager) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.batchBulkhead = batchBulkhead;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Queues a GET of {@code path} (with optional query string). The future fails with
+     * {@link com.bluemoon.fees.exception.TooManyRequestsException} when the bulkhead is full, or
+     * with a {@link java.util.concurrent.TimeoutException} when an async handler takes too long.
+     */
+    public CompletableFuture<Result> dispatch(HttpServletRequest batchRequest, HttpServletResponse batchResponse,
+                                              String path, Map<String, String> headers) {
+        SubResponse response = new SubResponse(batchResponse);
+        SubRequest request = new SubRequest(batchRequest, path, headers, response, this::service);
+        CompletableFuture<CompletableFuture<Void>> started;
+        try {
+            started = batchBulkhead.submit(() -> {
+                service(request, response);
+                return request.serviceReturned();
+            });
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        return started.thenCompose(Function.identity())
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .thenApply(done -> new Result(response.getStatus(), response.getHeaderMap(),
+                        response.getContentType(), response.getBody()));
+    }
+
+    private void service(SubRequest request, SubResponse response) {
+        readOnly.executeWithoutResult(status -> {
+            try {
+                dispatcherServlet.service(request, response);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } catch (ServletException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+}
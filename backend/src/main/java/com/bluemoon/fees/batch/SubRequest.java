@@ -0,0 +1,344 @@
+package com.bluemoon.fees.batch;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A GET sub-request of a batch, dispatched straight to the {@code DispatcherServlet} on a pool
+ * thread. Everything the MVC stack reads or writes (path, parameters, headers, attributes, async
+ * state) is held here, so pool threads never modify the live batch request. The wrapped request
+ * only answers read-only lookups such as the servlet context and the authenticated principal.
+ */
+class SubRequest extends HttpServletRequestWrapper {
+
+    /** Runs one pass of a sub-request through the {@code DispatcherServlet}. */
+    interface Redispatch {
+        void service(SubRequest request, SubResponse response);
+    }
+
+    private final String contextPath;
+    private final String path;
+    private final String queryString;
+    private final Map<String, String[]> parameters;
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final Locale locale;
+    private final SubResponse response;
+    private final Redispatch redispatch;
+    private volatile DispatcherType dispatcherType = DispatcherType.REQUEST;
+    private volatile SubRequestAsyncContext asyncContext;
+
+    /** {@code target} is an application path with an optional, still encoded, query string. */
+    SubRequest(HttpServletRequest batchRequest, String target, Map<String, String> headers, SubResponse response,
+               Redispatch redispatch) {
+        super(batchRequest);
+        int query = target.indexOf('?');
+        this.contextPath = batchRequest.getContextPath();
+        this.path = query < 0 ? target : target.substring(0, query);
+        this.queryString = query < 0 ? null : target.substring(query + 1);
+        this.parameters = parseQuery(queryString);
+        this.locale = batchRequest.getLocale();
+        this.response = response;
+        this.redispatch = redispatch;
+        if (headers != null) {
+            headers.forEach((name, value) -> this.headers.put(name, List.of(value)));
+        }
+        // Sub-responses are embedded in the batch's JSON body
+        this.headers.put(HttpHeaders.ACCEPT, List.of("application/json"));
+    }
+
+    private static Map<String, String[]> parseQuery(String queryString) {
+        if (queryString == null || queryString.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        for (String pair : queryString.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            values.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        values.forEach((name, list) -> parameters.put(name, list.toArray(String[]::new)));
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    void setDispatcherType(DispatcherType dispatcherType) {
+        this.dispatcherType = dispatcherType;
+    }
+
+    /**
+     * Called once the first pass through the dispatcher returns; the future completes when the
+     * response is final, which for async handlers is after their result has been dispatched.
+     */
+    CompletableFuture<Void> serviceReturned() {
+        SubRequestAsyncContext context = asyncContext;
+        if (context == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        context.serviceReturned();
+        return context.completion();
+    }
+
+    @Override
+    public String getMethod() {
+        return "GET";
+    }
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return contextPath + path;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        return new StringBuffer(getScheme()).append("://").append(getServerName()).append(':')
+                .append(getServerPort()).append(getRequestURI());
+    }
+
+    @Override
+    public String getServletPath() {
+        return path;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values != null ? values.get(0) : null;
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) {
+            return -1;
+        }
+        HttpHeaders parsed = new HttpHeaders();
+        parsed.set(name, value);
+        return parsed.getFirstDate(name);
+    }
+
+    @Override
+    public String getContentType() {
+        return null;
+    }
+
+    @Override
+    public int getContentLength() {
+        return 0;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return 0;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return true;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return -1;
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new StringReader(""));
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(List.of(locale));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public HttpSession getSession() {
+        throw new IllegalStateException("Batch sub-requests have no session");
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+        if (create) {
+            throw new IllegalStateException("Batch sub-requests have no session");
+        }
+        return null;
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return dispatcherType;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        SubRequestAsyncContext context = asyncContext;
+        return context != null && context.isStarted();
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        return startAsync(this, response);
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        SubRequestAsyncContext context = asyncContext;
+        if (context == null) {
+            context = new SubRequestAsyncContext(this, response, redispatch);
+            asyncContext = context;
+        }
+        context.start();
+        return context;
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        if (asyncContext == null) {
+            throw new IllegalStateException("Async processing has not been started");
+        }
+        return asyncContext;
+    }
+}
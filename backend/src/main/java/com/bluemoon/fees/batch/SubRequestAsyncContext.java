@@ -0,0 +1,190 @@
+package com.bluemoon.fees.batch;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The container's half of Servlet async processing for a sub-request, so handlers returning a
+ * {@code CompletableFuture} work inside a batch. As in a real container, a {@link #dispatch()}
+ * requested while the dispatcher is still running is deferred until it returns; it then
+ * re-enters the dispatcher on the thread that produced the result. The sub-request is complete
+ * once a dispatch returns without starting async processing again.
+ */
+class SubRequestAsyncContext implements AsyncContext {
+
+    private final SubRequest request;
+    private final SubResponse response;
+    private final SubRequest.Redispatch redispatch;
+    private final List<AsyncListener> listeners = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile SecurityContext securityContext;
+    private boolean inService = true;
+    private boolean started;
+    private boolean dispatchPending;
+    private boolean completed;
+    private volatile long timeout;
+
+    SubRequestAsyncContext(SubRequest request, SubResponse response, SubRequest.Redispatch redispatch) {
+        this.request = request;
+        this.response = response;
+        this.redispatch = redispatch;
+    }
+
+    synchronized void start() {
+        if (completed) {
+            throw new IllegalStateException("Async processing has already completed");
+        }
+        securityContext = SecurityContextHolder.getContext();
+        started = true;
+    }
+
+    synchronized boolean isStarted() {
+        return started;
+    }
+
+    /** Completes when the sub-request's response is final. */
+    CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    /** Called whenever a pass through the dispatcher returns. */
+    void serviceReturned() {
+        boolean runDispatch = false;
+        boolean finished = false;
+        synchronized (this) {
+            inService = false;
+            if (dispatchPending) {
+                dispatchPending = false;
+                runDispatch = true;
+            } else if (!started) {
+                finished = true;
+            }
+        }
+        if (runDispatch) {
+            runDispatch();
+        } else if (finished) {
+            complete();
+        }
+    }
+
+    @Override
+    public void dispatch() {
+        synchronized (this) {
+            if (inService) {
+                dispatchPending = true;
+                return;
+            }
+        }
+        runDispatch();
+    }
+
+    private void runDispatch() {
+        synchronized (this) {
+            started = false;
+            inService = true;
+        }
+        request.setDispatcherType(DispatcherType.ASYNC);
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            redispatch.service(request, response);
+        } catch (Throwable ex) {
+            completion.completeExceptionally(ex);
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+        serviceReturned();
+    }
+
+    @Override
+    public void dispatch(String path) {
+        throw new UnsupportedOperationException("Batch sub-requests only dispatch back to themselves");
+    }
+
+    @Override
+    public void dispatch(ServletContext context, String path) {
+        throw new UnsupportedOperationException("Batch sub-requests only dispatch back to themselves");
+    }
+
+    @Override
+    public void complete() {
+        synchronized (this) {
+            if (completed) {
+                return;
+            }
+            started = false;
+            completed = true;
+        }
+        AsyncEvent event = new AsyncEvent(this, request, response);
+        for (AsyncListener listener : listeners) {
+            try {
+                listener.onComplete(event);
+            } catch (IOException ignored) {
+                // Listeners only clean up; the response is already final
+            }
+        }
+        completion.complete(null);
+    }
+
+    @Override
+    public ServletRequest getRequest() {
+        return request;
+    }
+
+    @Override
+    public ServletResponse getResponse() {
+        return response;
+    }
+
+    @Override
+    public boolean hasOriginalRequestAndResponse() {
+        return true;
+    }
+
+    @Override
+    public void start(Runnable run) {
+        throw new UnsupportedOperationException("Batch sub-requests do not run container tasks");
+    }
+
+    @Override
+    public void addListener(AsyncListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void addListener(AsyncListener listener, ServletRequest servletRequest, ServletResponse servletResponse) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public <T extends AsyncListener> T createListener(Class<T> type) throws ServletException {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException ex) {
+            throw new ServletException(ex);
+        }
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public long getTimeout() {
+        return timeout;
+    }
+}
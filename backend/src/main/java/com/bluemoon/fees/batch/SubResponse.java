@@ -0,0 +1,317 @@
+package com.bluemoon.fees.batch;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Buffers a sub-request's status, headers and body in memory. Nothing is ever written through
+ * to the wrapped batch response; it is only kept so that {@code unwrap} chains terminate.
+ */
+class SubResponse extends HttpServletResponseWrapper {
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+    private volatile int status = SC_OK;
+    private volatile boolean committed;
+    private String contentType;
+    private Charset charset = StandardCharsets.UTF_8;
+    private Locale locale = Locale.getDefault();
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    SubResponse(HttpServletResponse batchResponse) {
+        super(batchResponse);
+    }
+
+    /** The body written so far, flushing any pending writer output first. */
+    byte[] getBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return body.toByteArray();
+    }
+
+    Map<String, List<String>> getHeaderMap() {
+        return headers;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void setStatus(int status) {
+        if (!committed) {
+            this.status = status;
+        }
+    }
+
+    @Override
+    public void sendError(int status) {
+        sendError(status, null);
+    }
+
+    @Override
+    public void sendError(int status, String message) {
+        if (committed) {
+            throw new IllegalStateException("Response already committed");
+        }
+        this.status = status;
+        body.reset();
+        committed = true;
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        if (committed) {
+            throw new IllegalStateException("Response already committed");
+        }
+        status = SC_FOUND;
+        setHeader(HttpHeaders.LOCATION, location);
+        committed = true;
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            return getContentType();
+        }
+        List<String> values = headers.get(name);
+        return values != null ? values.get(0) : null;
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        return new ArrayList<>(headers.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return new ArrayList<>(headers.keySet());
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (committed) {
+            return;
+        }
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else if (value == null) {
+            headers.remove(name);
+        } else {
+            headers.put(name, new ArrayList<>(List.of(value)));
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (committed || value == null) {
+            return;
+        }
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else {
+            headers.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        HttpHeaders formatted = new HttpHeaders();
+        formatted.setDate(name, date);
+        setHeader(name, formatted.getFirst(name));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        HttpHeaders formatted = new HttpHeaders();
+        formatted.setDate(name, date);
+        addHeader(name, formatted.getFirst(name));
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        // Sub-responses are embedded in a JSON body, so cookies have nowhere to go
+    }
+
+    @Override
+    public String getContentType() {
+        if (contentType == null) {
+            return null;
+        }
+        return contentType.contains("charset=") ? contentType : contentType + ";charset=" + charset.name();
+    }
+
+    @Override
+    public void setContentType(String type) {
+        if (committed) {
+            return;
+        }
+        contentType = type;
+        if (type != null) {
+            int index = type.toLowerCase(Locale.ROOT).indexOf("charset=");
+            if (index >= 0) {
+                charset = Charset.forName(type.substring(index + 8).trim());
+            }
+        }
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return charset.name();
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        if (!committed && encoding != null) {
+            charset = Charset.forName(encoding);
+        }
+    }
+
+    @Override
+    public void setContentLength(int length) {
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public void setLocale(Locale locale) {
+        this.locale = locale;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) {
+                    body.write(bytes, offset, length);
+                }
+
+                @Override
+                public void flush() {
+                    committed = true;
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(body, charset), false);
+        }
+        return writer;
+    }
+
+    @Override
+    public int getBufferSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+        committed = true;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (committed) {
+            throw new IllegalStateException("Response already committed");
+        }
+        body.reset();
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        status = SC_OK;
+        contentType = null;
+        charset = StandardCharsets.UTF_8;
+    }
+
+    @Override
+    public String encodeURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodeRedirectURL(String url) {
+        return url;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bluemoon.fees.config;
+
+import com.bluemoon.fees.util.Bulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BatchConfig {
+
+    // Each thread holds one JDBC connection while its sub-request runs
+    @Value("${batch.bulkhead.threads:4}")
+    private int threads;
+
+    @Value("${batch.bulkhead.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${batch.bulkhead.timeout-ms:10000}")
+    private long timeoutMillis;
+
+    @Value("${batch.bulkhead.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    @Bean
+    public Bulkhead batchBulkhead(MeterRegistry registry) {
+        return new Bulkhead("batch", threads, queueCapacity, timeoutMillis, retryAfterSeconds, registry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.bluemoon.fees.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class BillingConfig {
+
+    // Each thread writes one chunk at a time on its own connection; keep below the Hikari pool size
+    @Value("${billing.generator.threads:4}")
+    private int threads;
+
+    @Bean
+    public ExecutorService chargeGenerationExecutor(MeterRegistry registry) {
+        return ExecutorServiceMetrics.monitor(registry,
+                Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("charges-")), "charges");
+    }
+
+    @Bean
+    public ExecutorService penaltyAccrualExecutor(PenaltyProperties properties, MeterRegistry registry) {
+        return ExecutorServiceMetrics.monitor(registry,
+                Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("penalties-")),
+                "penalties");
+    }
+
+    @Bean
+    public ExecutorService reminderExecutor(ReminderProperties properties, MeterRegistry registry) {
+        return ExecutorServiceMetrics.monitor(registry,
+                Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("reminders-")),
+                "reminders");
+    }
+
+    // Sends block on the transport, so these threads mostly wait; rate limits are per transport
+    @Bean
+    public ExecutorService reminderDispatchExecutor(ReminderDispatchProperties properties, MeterRegistry registry) {
+        return ExecutorServiceMetrics.monitor(registry,
+                Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("reminder-dispatch-")),
+                "reminder-dispatch");
+    }
+}
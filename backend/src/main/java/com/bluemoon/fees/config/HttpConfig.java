@@ -0,0 +1,40 @@
+package com.bluemoon.fees.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * HTTP response defaults (compression) from {@code http.properties}, Jackson tuning, and the
+ * binary formats offered next to JSON. Conditional GET support lives in the controllers, see
+ * {@link com.bluemoon.fees.util.ChangeVersionRegistry}.
+ */
+@Configuration
+@PropertySource("classpath:http.properties")
+public class HttpConfig {
+
+    /** Picked up by Boot's builder, so it applies to every converter below and to JSON. */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    // Built from Boot's (prototype) builder so modules and settings match the JSON converter.
+    // Both rank after JSON, which stays the answer to Accept: */*.
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,20 @@
+package com.bluemoon.fees.config;
+
+import com.bluemoon.fees.monitoring.HandlerTaggingObservationConvention;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Actuator and Micrometer setup. Defaults live in {@code monitoring.properties}; the
+ * Prometheus scrape endpoint is {@code /actuator/prometheus}, open to admins only.
+ */
+@Configuration
+@PropertySource("classpath:monitoring.properties")
+public class MetricsConfig {
+
+    @Bean
+    public HandlerTaggingObservationConvention handlerTaggingObservationConvention() {
+        return new HandlerTaggingObservationConvention();
+    }
+}
@@ -1,15 +1,52 @@
 package com.bluemoon.fees.config;
 
+import com.bluemoon.fees.security.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class PasswordConfig {
-    
+
+    @Value("${security.password-hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${security.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.password-hashing.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @Value("${security.password-hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingExecutor(), timeoutMillis, retryAfterSeconds);
+    }
+
+    // Deliberately not a bean: an Executor bean would switch off Boot's default task executor
+    private ExecutorService passwordHashingExecutor() {
+        // Hashing is pure CPU work, so by default leave half the cores to request handling
+        int threads = hashingThreads > 0
+                ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.bluemoon.fees.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Late-payment penalties on unpaid charges of mandatory recurring fees. Once a charge is more
+ * than {@code graceDays} past due it is charged {@code flat} once, then {@code dailyRate} of the
+ * outstanding balance for every further day, up to {@code capRate} of the charge amount.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "billing.penalty")
+public class PenaltyProperties {
+
+    private boolean enabled = true;
+
+    private int graceDays = 0;
+
+    private double flat = 0;
+
+    // Fraction of the outstanding balance per day; 0.0005 is 0.05%
+    private double dailyRate = 0.0005;
+
+    // Maximum total penalty as a fraction of the charge amount; 0 for no cap
+    private double capRate = 0.2;
+
+    // Charges read, accrued and written back per batch
+    private int chunkSize = 5_000;
+
+    // Batches accrued in parallel, each on its own connection
+    private int threads = 4;
+}
@@ -0,0 +1,54 @@
+package com.bluemoon.fees.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the per-user request rate limiter. Every principal gets one bucket per route;
+ * each request takes the route's cost in tokens, so expensive endpoints drain it faster.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Bucket size and refill rate shared by every route bucket
+    private double capacity = 100;
+    private double refillPerSecond = 10;
+
+    // Cost for requests that match none of the routes below
+    private int defaultCost = 1;
+
+    private int maxBuckets = 10_000;
+    private long idleEvictionSeconds = 600;
+
+    private List<Route> routes = new ArrayList<>(List.of(
+        new Route("GET", "/api/payments", 10),
+        new Route("GET", "/api/payments/date-range", 5),
+        new Route("GET", "/api/payments/unverified", 5),
+        new Route("GET", "/api/payments/statistics/**", 5),
+        new Route("GET", "/api/households", 3),
+        new Route("GET", "/api/households/search", 3),
+        new Route("GET", "/api/households/*/statistics", 5),
+        new Route("GET", "/api/fees", 3),
+        new Route("GET", "/api/fees/*/statistics", 5)
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        // HTTP method, or null to match any
+        private String method;
+        private String pattern;
+        private int cost = 1;
+    }
+}
@@ -0,0 +1,57 @@
+package com.bluemoon.fees.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Delivery of reminders to residents through the outbox. A failed send is retried after
+ * {@code backoffMillis}, doubling on every attempt up to {@code maxBackoffMillis}, until
+ * {@code maxAttempts} is reached.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reminders.dispatch")
+public class ReminderDispatchProperties {
+
+    private boolean enabled = true;
+
+    // Concurrent sends across all transports
+    private int threads = 4;
+
+    // Messages claimed from the outbox at a time
+    private int batchSize = 100;
+
+    // How often the outbox is checked for retries and lapsed claims when nothing wakes it
+    private long pollIntervalMillis = 5_000;
+
+    // A claimed message that is not marked sent or failed by then is sent again, e.g. after a crash
+    private long claimTimeoutSeconds = 300;
+
+    private int maxAttempts = 5;
+    private long backoffMillis = 30_000;
+    private long maxBackoffMillis = 3_600_000;
+
+    // Sender of reminder emails
+    private String emailFrom = "BlueMoon <no-reply@bluemoon.local>";
+
+    // Location of due-soon.txt and overdue.txt
+    private String templates = "classpath:reminders/";
+
+    // Rate limit per transport name; transports without an entry use defaultRate
+    private Rate defaultRate = new Rate(10, 10);
+    private Map<String, Rate> rates = new HashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rate {
+        private double perSecond;
+        private double burst;
+    }
+}
@@ -0,0 +1,33 @@
+package com.bluemoon.fees.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+
+/**
+ * Due-date reminders for fees and recurring fee charges. A reminder goes out {@code dueSoonDays}
+ * before the due date and another the day after it, both at {@code sendAt} local time.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "reminders")
+public class ReminderProperties {
+
+    // Only one instance should fire reminders
+    private boolean enabled = true;
+
+    private int dueSoonDays = 3;
+
+    private LocalTime sendAt = LocalTime.of(8, 0);
+
+    // Resolution of the timing wheel and buckets per level: 1 s x 64 covers about a minute,
+    // the next level about an hour, then 3 days, half a year and 30 years
+    private long tickMillis = 1_000;
+
+    private int wheelSize = 64;
+
+    // Fired reminders are turned into notifications on this many threads
+    private int threads = 2;
+}
@@ -0,0 +1,56 @@
+package com.bluemoon.fees.config;
+
+import com.bluemoon.fees.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces Boot's single pool with a primary and a replica pool behind
+ * {@link ReplicaRoutingDataSource} when {@code datasource.replica.url} is set.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties primaryProperties, ReplicaProperties replicaProperties,
+                                               Environment environment, MeterRegistry registry) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaProperties.getUrl())
+                .username(replicaProperties.getUsername())
+                .password(replicaProperties.getPassword())
+                .driverClassName(replicaProperties.getDriverClassName())
+                .build();
+
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        binder.bind("datasource.replica.hikari", Bindable.ofInstance(replica));
+        // Boot can only find one pool through the router, so both are instrumented here
+        primary.setPoolName("primary");
+        replica.setPoolName("replica");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+
+        return new ReplicaRoutingDataSource(primary, replica, replicaProperties.getStickyWindow(), registry);
+    }
+
+    // Spring's default holds the first connection for the whole open-in-view session, which
+    // would pin a request to whichever pool its first transaction used
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+}
@@ -0,0 +1,28 @@
+package com.bluemoon.fees.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Connection settings for the read replica. Routing is switched on by setting {@code url};
+ * pool settings go under {@code datasource.replica.hikari.*} like {@code spring.datasource.hikari.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaProperties {
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    // How long a user's reads stay on the primary after their own write commits
+    private Duration stickyWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,15 @@
+package com.bluemoon.fees.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs. The scheduler's pool size defaults to more than Boot's single
+ * thread in {@code scheduling.properties}.
+ */
+@Configuration
+@EnableScheduling
+@PropertySource("classpath:scheduling.properties")
+public class SchedulingConfig {
+}
@@ -0,0 +1,41 @@
+package com.bluemoon.fees.config;
+
+import com.bluemoon.fees.util.Bulkhead;
+import com.bluemoon.fees.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class StatisticsConfig {
+
+    // Keep below the Hikari pool size so payment writes always find a free connection
+    @Value("${statistics.bulkhead.threads:4}")
+    private int threads;
+
+    @Value("${statistics.bulkhead.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${statistics.bulkhead.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @Value("${statistics.bulkhead.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    // How long a finished result is reused by later identical requests; 0 only coalesces in-flight ones
+    @Value("${statistics.single-flight.cache-window-ms:0}")
+    private long cacheWindowMillis;
+
+    @Bean
+    public SingleFlight statisticsSingleFlight(MeterRegistry registry) {
+        return new SingleFlight("statistics", Duration.ofMillis(cacheWindowMillis), registry);
+    }
+
+    @Bean
+    public Bulkhead statisticsBulkhead(MeterRegistry registry) {
+        return new Bulkhead("statistics", threads, queueCapacity, timeoutMillis, retryAfterSeconds, registry);
+    }
+}
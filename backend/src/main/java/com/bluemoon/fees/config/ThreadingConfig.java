@@ -0,0 +1,32 @@
+package com.bluemoon.fees.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Reports which thread model serves requests. Virtual threads are opted into with the
+ * {@code virtual-threads} profile and only take effect on a Java 21 runtime.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadModel() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsRequested) {
+            log.info("Serving requests on platform threads");
+        } else if (javaVersion >= 21) {
+            log.info("Serving requests, @Async and @Scheduled work on virtual threads");
+        } else {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "serving requests on platform threads", javaVersion);
+        }
+    }
+}
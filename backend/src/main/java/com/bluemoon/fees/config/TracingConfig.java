@@ -0,0 +1,49 @@
+package com.bluemoon.fees.config;
+
+import com.bluemoon.fees.monitoring.SlowTraceBuffer;
+import com.bluemoon.fees.monitoring.TracingDataSource;
+import com.bluemoon.fees.monitoring.TracingFilter;
+import com.bluemoon.fees.monitoring.TracingJackson2HttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class TracingConfig {
+
+    // Runs ahead of the security filter chain so the JWT filter is part of the trace
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilterRegistration(TracingProperties properties,
+                                                                           SlowTraceBuffer buffer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(properties, buffer));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    // Replaces Boot's default converter (it backs off when one is defined)
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TracingJackson2HttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)
+                        && environment.getProperty("tracing.enabled", Boolean.class, true)) {
+                    return new TracingDataSource(dataSource, environment.getProperty("tracing.max-sql-length", Integer.class, 2_000));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.bluemoon.fees.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for in-process request tracing. Every request under {@code /api} is traced; only
+ * those slower than the threshold are kept, in a ring buffer of fixed size.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "tracing")
+public class TracingProperties {
+
+    private boolean enabled = true;
+
+    private long slowThresholdMs = 500;
+
+    // Fraction of slow requests that are kept (1.0 keeps all)
+    private double sampleRate = 1.0;
+
+    private int bufferSize = 100;
+
+    // Spans recorded per request before further spans are dropped
+    private int maxSpansPerTrace = 1_000;
+
+    private int maxSqlLength = 2_000;
+}
@@ -0,0 +1,43 @@
+package com.bluemoon.fees.controller;
+
+import com.bluemoon.fees.monitoring.SlowTraceBuffer;
+import com.bluemoon.fees.monitoring.TraceRecord;
+import com.bluemoon.fees.security.RateLimitFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    private final RateLimitFilter rateLimitFilter;
+    private final SlowTraceBuffer slowTraceBuffer;
+
+    @GetMapping("/rate-limits")
+    public ResponseEntity<Map<String, Object>> getRateLimitStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("activeBuckets", rateLimitFilter.getActiveBuckets());
+        statistics.put("overflows", rateLimitFilter.getOverflows());
+        statistics.put("rejectionsByRoute", rateLimitFilter.getRejectionsByRoute());
+        return ResponseEntity.ok(statistics);
+    }
+
+    @GetMapping("/traces/slow")
+    public ResponseEntity<List<TraceRecord>> getSlowTraces(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(slowTraceBuffer.recent(limit));
+    }
+
+    @DeleteMapping("/traces/slow")
+    public ResponseEntity<?> clearSlowTraces() {
+        slowTraceBuffer.clear();
+        return ResponseEntity.ok().build();
+    }
+}
@@ -2,15 +2,25 @@ package com.bluemoon.fees.controller;
 
 import com.bluemoon.fees.dto.AuthRequest;
 import com.bluemoon.fees.dto.AuthResponse;
+import com.bluemoon.fees.dto.RefreshTokenRequest;
 import com.bluemoon.fees.dto.RegisterRequest;
 import com.bluemoon.fees.entity.User;
+import com.bluemoon.fees.exception.TooManyRequestsException;
+import com.bluemoon.fees.monitoring.BusinessMetrics;
+import com.bluemoon.fees.monitoring.BusinessMetrics.LoginOutcome;
 import com.bluemoon.fees.security.JwtService;
+import com.bluemoon.fees.security.LoginAttemptThrottle;
+import com.bluemoon.fees.security.TokenRevocationService;
+import com.bluemoon.fees.security.VerifiedToken;
 import com.bluemoon.fees.service.UserService;
+import io.jsonwebtoken.ExpiredJwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -27,19 +37,37 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
     private final JwtService jwtService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
+    private final TokenRevocationService tokenRevocation;
+    private final BusinessMetrics businessMetrics;
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        // Throttle per username before any hashing happens
+        try {
+            loginAttemptThrottle.acquire(request.getUsername());
+        } catch (TooManyRequestsException e) {
+            businessMetrics.loginAttempt(LoginOutcome.THROTTLED);
+            throw e;
+        }
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
+        } catch (AuthenticationException e) {
+            businessMetrics.loginAttempt(LoginOutcome.FAILURE);
+            throw e;
+        }
 
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         User user = userService.findByUsername(userDetails.getUsername())
             .orElseThrow(() -> new RuntimeException("User not found"));
 
-        String token = jwtService.generateToken(user);
-        return ResponseEntity.ok(new AuthResponse(token, user.getUsername(), user.getRole()));
+        loginAttemptThrottle.reset(request.getUsername());
+        businessMetrics.loginAttempt(LoginOutcome.SUCCESS);
+        return ResponseEntity.ok(issueTokens(user));
     }
 
     @PostMapping("/register")
@@ -53,8 +81,45 @@ public class AuthController {
             .enabled(true)
             .build());
 
-        String token = jwtService.generateToken(user);
-        return ResponseEntity.ok(new AuthResponse(token, user.getUsername(), user.getRole()));
+        return ResponseEntity.ok(issueTokens(user));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        VerifiedToken refreshToken = jwtService.verify(request.getRefreshToken());
+        if (!refreshToken.isRefreshToken() || refreshToken.getUserId() == null
+                || tokenRevocation.isRevoked(refreshToken)) {
+            throw new BadCredentialsException("Not a refresh token");
+        }
+
+        User user = userService.findById(refreshToken.getUserId())
+            .orElseThrow(() -> new BadCredentialsException("User not found"));
+        if (!user.isEnabled() || user.getTokenVersion() != refreshToken.getTokenVersion()) {
+            throw new BadCredentialsException("Refresh token has been revoked");
+        }
+
+        return ResponseEntity.ok(issueTokens(user));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            revokeUnlessExpired(authHeader.substring(7));
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            revokeUnlessExpired(request.getRefreshToken());
+        }
+        return ResponseEntity.ok().build();
+    }
+
+    private void revokeUnlessExpired(String token) {
+        try {
+            tokenRevocation.revoke(jwtService.verify(token));
+        } catch (ExpiredJwtException e) {
+            // An expired token is rejected anyway, so there is nothing left to revoke
+        }
     }
 
     @PostMapping("/change-password")
@@ -97,4 +162,10 @@ public class AuthController {
         
         return ResponseEntity.ok(response);
     }
+
+    private AuthResponse issueTokens(User user) {
+        String token = jwtService.generateAccessToken(user);
+        String refreshToken = jwtService.isStatelessEnabled() ? jwtService.generateRefreshToken(user) : null;
+        return new AuthResponse(token, user.getUsername(), user.getRole(), refreshToken);
+    }
 } 
\ No newline at end of file
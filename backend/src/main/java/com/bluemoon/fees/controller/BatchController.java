@@ -0,0 +1,27 @@
+package com.bluemoon.fees.controller;
+
+import com.bluemoon.fees.dto.BatchRequest;
+import com.bluemoon.fees.dto.BatchResponse;
+import com.bluemoon.fees.service.BatchService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final BatchService batchService;
+
+    @PostMapping
+    public CompletableFuture<ResponseEntity<BatchResponse>> execute(@RequestBody BatchRequest batch,
+                                                                    HttpServletRequest request,
+                                                                    HttpServletResponse response) {
+        return batchService.execute(batch, request, response).thenApply(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,54 @@
+package com.bluemoon.fees.controller;
+
+import com.bluemoon.fees.dto.ChargeGenerationResult;
+import com.bluemoon.fees.dto.PenaltyRunResult;
+import com.bluemoon.fees.entity.FeeCharge;
+import com.bluemoon.fees.service.ChargeService;
+import com.bluemoon.fees.service.PenaltyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/charges")
+@RequiredArgsConstructor
+public class ChargeController {
+
+    private final ChargeService chargeService;
+    private final PenaltyService penaltyService;
+
+    @GetMapping("/household/{householdId}")
+    public ResponseEntity<List<FeeCharge>> getChargesByHousehold(@PathVariable Long householdId,
+                                                                 @RequestParam(required = false) YearMonth from,
+                                                                 @RequestParam(required = false) YearMonth to) {
+        return ResponseEntity.ok(chargeService.findByHousehold(householdId, from, to));
+    }
+
+    /** Generates the charges for {@code period} (yyyy-MM, default this month); safe to repeat. */
+    @PostMapping("/generate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ChargeGenerationResult> generateCharges(@RequestParam(required = false) YearMonth period) {
+        return ResponseEntity.ok(chargeService.generate(period != null ? period : YearMonth.now()));
+    }
+
+    @PatchMapping("/{id}/amount-paid")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FeeCharge> recordPayment(@PathVariable Long id, @RequestBody Map<String, Double> body) {
+        return ResponseEntity.ok(chargeService.recordPayment(id, body.get("amountPaid")));
+    }
+
+    /** Accrues penalties through {@code date} (default today); safe to repeat. */
+    @PostMapping("/penalties/accrue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PenaltyRunResult> accruePenalties(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(penaltyService.accrue(date != null ? date : LocalDate.now()));
+    }
+}
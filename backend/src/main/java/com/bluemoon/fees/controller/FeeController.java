@@ -1,17 +1,24 @@
 package com.bluemoon.fees.controller;
 
 import com.bluemoon.fees.entity.Fee;
+import com.bluemoon.fees.entity.FeePrice;
+import com.bluemoon.fees.entity.Tombstone.EntityType;
+import com.bluemoon.fees.service.FeePriceService;
 import com.bluemoon.fees.service.FeeService;
-import com.bluemoon.fees.service.PaymentService;
+import com.bluemoon.fees.service.StatisticsService;
+import com.bluemoon.fees.util.ChangeVersionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/fees")
@@ -19,36 +26,47 @@ import java.util.Map;
 public class FeeController {
 
     private final FeeService feeService;
-    private final PaymentService paymentService;
+    private final FeePriceService feePriceService;
+    private final StatisticsService statisticsService;
+    private final ChangeVersionRegistry changeVersions;
 
     @GetMapping
-    public ResponseEntity<List<Fee>> getAllFees(
-            @RequestParam(required = false, defaultValue = "false") boolean showAll) {
-        if (showAll) {
-            return ResponseEntity.ok(feeService.findAll());
-        } else {
-            return ResponseEntity.ok(feeService.findAllActive());
-        }
+    public ResponseEntity<?> getAllFees(
+            @RequestParam(required = false, defaultValue = "false") boolean showAll,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        return feesVersioned(request, () -> {
+            if (fields != null) {
+                return feeService.findAllFields(fields, !showAll);
+            }
+            if (showAll) {
+                return feeService.findAll();
+            } else {
+                return feeService.findAllActive();
+            }
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Fee> getFeeById(@PathVariable Long id) {
-        return ResponseEntity.ok(feeService.findById(id)
+    public ResponseEntity<Fee> getFeeById(@PathVariable Long id, WebRequest request) {
+        return feesVersioned(request, () -> feeService.findById(id)
                 .orElseThrow(() -> new RuntimeException("Fee not found with id: " + id)));
     }
 
     @GetMapping("/type/{type}")
-    public ResponseEntity<List<Fee>> getFeesByType(@PathVariable String type) {
-        return ResponseEntity.ok(feeService.findByType(type));
+    public ResponseEntity<List<Fee>> getFeesByType(@PathVariable String type, WebRequest request) {
+        return feesVersioned(request, () -> feeService.findByType(type));
     }
 
     @GetMapping("/due-date-range")
     public ResponseEntity<List<Fee>> getFeesByDueDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        return ResponseEntity.ok(feeService.findByDueDateRange(startDate, endDate));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest request) {
+        return feesVersioned(request, () -> feeService.findByDueDateRange(startDate, endDate));
     }
 
+    // Depends on today's date as well, so it is not versioned
+
     @GetMapping("/overdue")
     public ResponseEntity<List<Fee>> getOverdueFees() {
         return ResponseEntity.ok(feeService.findOverdueFees());
@@ -61,8 +79,23 @@ public class FeeController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Fee> updateFee(@PathVariable Long id, @RequestBody Fee fee) {
-        return ResponseEntity.ok(feeService.updateFee(id, fee));
+    public ResponseEntity<Fee> updateFee(
+            @PathVariable Long id, @RequestBody Fee fee,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveFrom) {
+        return ResponseEntity.ok(feeService.updateFee(id, fee, effectiveFrom != null ? effectiveFrom : LocalDate.now()));
+    }
+
+    @GetMapping("/{id}/prices")
+    public ResponseEntity<List<FeePrice>> getPriceHistory(@PathVariable Long id, WebRequest request) {
+        return feesVersioned(request, () -> feePriceService.getHistory(id));
+    }
+
+    @GetMapping("/{id}/price")
+    public ResponseEntity<FeePrice> getPriceOn(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            WebRequest request) {
+        return feesVersioned(request, () -> feePriceService.getPrice(id, date));
     }
 
     @DeleteMapping("/{id}")
@@ -92,22 +125,12 @@ public class FeeController {
     }
     
     @GetMapping("/{id}/statistics")
-    public ResponseEntity<Map<String, Object>> getFeeStatistics(@PathVariable Long id) {
-        // Ensure the fee exists
-        Fee fee = feeService.findById(id)
-                .orElseThrow(() -> new RuntimeException("Fee not found with id: " + id));
-        
-        // Get payment statistics
-        double totalCollected = paymentService.calculateTotalPaymentsByFee(id);
-        long totalPayments = paymentService.findByFee(id).size();
-        
-        Map<String, Object> statistics = Map.of(
-            "totalPayments", totalPayments,
-            "totalCollected", totalCollected,
-            "feeAmount", fee.getAmount(),
-            "feeName", fee.getName()
-        );
-        
-        return ResponseEntity.ok(statistics);
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getFeeStatistics(@PathVariable Long id) {
+        return statisticsService.getFeeStatistics(id).thenApply(ResponseEntity::ok);
+    }
+
+    /** Fee JSON lists the ids of its payments, so payment changes invalidate it too. */
+    private <T> ResponseEntity<T> feesVersioned(WebRequest request, Supplier<T> body) {
+        return changeVersions.respond(request, body, EntityType.FEE, EntityType.PAYMENT);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.bluemoon.fees.controller;
+
+import com.bluemoon.fees.dto.FlightRecordingInfo;
+import com.bluemoon.fees.dto.FlightRecordingRequest;
+import com.bluemoon.fees.monitoring.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/jfr/recordings")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class FlightRecordingController {
+
+    private final FlightRecordingService flightRecordingService;
+
+    @GetMapping
+    public ResponseEntity<List<FlightRecordingInfo>> getRecordings() {
+        return ResponseEntity.ok(flightRecordingService.list());
+    }
+
+    @PostMapping
+    public ResponseEntity<FlightRecordingInfo> startRecording(@RequestBody(required = false) FlightRecordingRequest request) {
+        return ResponseEntity.ok(flightRecordingService.start(request != null ? request : new FlightRecordingRequest()));
+    }
+
+    @PostMapping("/{id}/stop")
+    public ResponseEntity<FlightRecordingInfo> stopRecording(@PathVariable long id) {
+        return ResponseEntity.ok(flightRecordingService.stop(id));
+    }
+
+    @GetMapping("/{id}/file")
+    public ResponseEntity<StreamingResponseBody> downloadRecording(@PathVariable long id) throws Exception {
+        Path file = flightRecordingService.dump(id);
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("recording-" + id + ".jfr").build().toString())
+                .body(body);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRecording(@PathVariable long id) {
+        flightRecordingService.delete(id);
+        return ResponseEntity.ok().build();
+    }
+}
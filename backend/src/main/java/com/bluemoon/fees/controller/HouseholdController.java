@@ -2,16 +2,22 @@ package com.bluemoon.fees.controller;
 
 import com.bluemoon.fees.entity.Household;
 import com.bluemoon.fees.entity.Payment;
+import com.bluemoon.fees.entity.Tombstone.EntityType;
 import com.bluemoon.fees.service.HouseholdService;
 import com.bluemoon.fees.service.PaymentService;
+import com.bluemoon.fees.service.StatisticsService;
+import com.bluemoon.fees.util.ChangeVersionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/households")
@@ -21,57 +27,70 @@ public class HouseholdController {
 
     private final HouseholdService householdService;
     private final PaymentService paymentService;
+    private final StatisticsService statisticsService;
+    private final ChangeVersionRegistry changeVersions;
 
     @GetMapping
-    public ResponseEntity<List<Household>> getAllHouseholds(
-            @RequestParam(required = false, defaultValue = "false") boolean showAll) {
-        List<Household> households;
-        if (showAll) {
-            log.info("Getting all households (including inactive)");
-            households = householdService.findAll();
-            log.info("Found {} households", households.size());
-        } else {
-            log.info("Getting all active households");
-            households = householdService.findAllActive();
-            log.info("Found {} active households", households.size());
-        }
-        return ResponseEntity.ok(households);
+    public ResponseEntity<?> getAllHouseholds(
+            @RequestParam(required = false, defaultValue = "false") boolean showAll,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        return householdsVersioned(request, () -> {
+            if (fields != null) {
+                return householdService.findAllFields(fields, !showAll);
+            }
+            List<Household> households;
+            if (showAll) {
+                log.info("Getting all households (including inactive)");
+                households = householdService.findAll();
+                log.info("Found {} households", households.size());
+            } else {
+                log.info("Getting all active households");
+                households = householdService.findAllActive();
+                log.info("Found {} active households", households.size());
+            }
+            return households;
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Household> getHouseholdById(@PathVariable Long id) {
-        log.info("Getting household with id: {}", id);
-        Household household = householdService.findById(id)
-                .orElseThrow(() -> new RuntimeException("Household not found with id: " + id));
-        log.info("Found household: {}", household);
-        return ResponseEntity.ok(household);
+    public ResponseEntity<Household> getHouseholdById(@PathVariable Long id, WebRequest request) {
+        return householdsVersioned(request, () -> {
+            log.info("Getting household with id: {}", id);
+            Household household = householdService.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Household not found with id: " + id));
+            log.info("Found household: {}", household);
+            return household;
+        });
     }
 
     @GetMapping("/search")
     public ResponseEntity<List<Household>> searchHouseholds(
             @RequestParam(required = false) String ownerName,
             @RequestParam(required = false) String address,
-            @RequestParam(required = false, defaultValue = "false") boolean showAll) {
-        log.info("Searching households with ownerName: {}, address: {}, showAll: {}", ownerName, address, showAll);
-        List<Household> households;
-        
-        if (ownerName != null && !ownerName.isEmpty()) {
-            households = householdService.searchByOwnerName(ownerName);
-            log.info("Found {} households by owner name", households.size());
-        } else if (address != null && !address.isEmpty()) {
-            households = householdService.searchByAddress(address);
-            log.info("Found {} households by address", households.size());
-        } else {
-            if (showAll) {
-                households = householdService.findAll();
-                log.info("No search parameters, returning all {} households", households.size());
+            @RequestParam(required = false, defaultValue = "false") boolean showAll,
+            WebRequest request) {
+        return householdsVersioned(request, () -> {
+            log.info("Searching households with ownerName: {}, address: {}, showAll: {}", ownerName, address, showAll);
+            List<Household> households;
+
+            if (ownerName != null && !ownerName.isEmpty()) {
+                households = householdService.searchByOwnerName(ownerName);
+                log.info("Found {} households by owner name", households.size());
+            } else if (address != null && !address.isEmpty()) {
+                households = householdService.searchByAddress(address);
+                log.info("Found {} households by address", households.size());
             } else {
-                households = householdService.findAllActive();
-                log.info("No search parameters, returning all {} active households", households.size());
+                if (showAll) {
+                    households = householdService.findAll();
+                    log.info("No search parameters, returning all {} households", households.size());
+                } else {
+                    households = householdService.findAllActive();
+                    log.info("No search parameters, returning all {} active households", households.size());
+                }
             }
-        }
-        
-        return ResponseEntity.ok(households);
+
+            return households;
+        });
     }
 
     @PostMapping
@@ -125,35 +144,26 @@ public class HouseholdController {
     }
 
     @GetMapping("/{id}/payments")
-    public ResponseEntity<List<Payment>> getHouseholdPayments(@PathVariable Long id) {
-        log.info("Getting payments for household with id: {}", id);
-        List<Payment> payments = paymentService.findByHousehold(id);
-        log.info("Found {} payments", payments.size());
-        return ResponseEntity.ok(payments);
+    public ResponseEntity<List<Payment>> getHouseholdPayments(@PathVariable Long id, WebRequest request) {
+        return changeVersions.respond(request, () -> {
+            log.info("Getting payments for household with id: {}", id);
+            List<Payment> payments = paymentService.findByHousehold(id);
+            log.info("Found {} payments", payments.size());
+            return payments;
+        }, EntityType.PAYMENT);
     }
 
     @GetMapping("/{id}/statistics")
-    public ResponseEntity<Map<String, Object>> getHouseholdStatistics(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getHouseholdStatistics(@PathVariable Long id) {
         log.info("Getting statistics for household with id: {}", id);
-        
-        // Ensure the household exists
-        householdService.findById(id)
-                .orElseThrow(() -> new RuntimeException("Household not found with id: " + id));
-        
-        // Get payment statistics
-        double totalPaid = paymentService.calculateTotalPaymentsByHousehold(id);
-        List<Payment> payments = paymentService.findByHousehold(id);
-        long verifiedCount = payments.stream().filter(Payment::isVerified).count();
-        double verifiedPercentage = payments.isEmpty() ? 0 : (verifiedCount * 100.0) / payments.size();
-        
-        Map<String, Object> statistics = Map.of(
-            "totalPayments", payments.size(),
-            "totalPaid", totalPaid,
-            "verifiedCount", verifiedCount,
-            "verifiedPercentage", verifiedPercentage
-        );
-        
-        log.info("Statistics for household {}: {}", id, statistics);
-        return ResponseEntity.ok(statistics);
+        return statisticsService.getHouseholdStatistics(id).thenApply(statistics -> {
+            log.info("Statistics for household {}: {}", id, statistics);
+            return ResponseEntity.ok(statistics);
+        });
+    }
+
+    /** Household JSON lists the ids of its payments, so payment changes invalidate it too. */
+    private <T> ResponseEntity<T> householdsVersioned(WebRequest request, Supplier<T> body) {
+        return changeVersions.respond(request, body, EntityType.HOUSEHOLD, EntityType.PAYMENT);
     }
-} 
\ No newline at end of file
+}
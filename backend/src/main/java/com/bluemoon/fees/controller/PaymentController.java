@@ -1,20 +1,26 @@
 package com.bluemoon.fees.controller;
 
 import com.bluemoon.fees.entity.Payment;
+import com.bluemoon.fees.entity.Tombstone.EntityType;
 import com.bluemoon.fees.service.PaymentService;
+import com.bluemoon.fees.service.StatisticsService;
+import com.bluemoon.fees.util.ChangeVersionRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.bluemoon.fees.dto.PaymentDTO;
-import java.util.stream.Collectors;
+import com.bluemoon.fees.dto.PaymentList;
 
 @RestController
 @RequestMapping("/api/payments")
@@ -22,69 +28,62 @@ import java.util.stream.Collectors;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final StatisticsService statisticsService;
+    private final ChangeVersionRegistry changeVersions;
     private static final Logger log = LoggerFactory.getLogger(PaymentController.class);
 
     @GetMapping
-    public ResponseEntity<List<PaymentDTO>> getAllPayments() {
-        List<Payment> payments = paymentService.findAll();
-        List<PaymentDTO> paymentDTOs = payments.stream()
-                .map(PaymentDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(paymentDTOs);
+    public ResponseEntity<?> getAllPayments(@RequestParam(required = false) String fields, WebRequest request) {
+        return paymentsVersioned(request, () -> {
+            if (fields != null) {
+                return paymentService.findAllFields(fields);
+            }
+            List<Payment> payments = paymentService.findAll();
+            return new PaymentList(payments);
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PaymentDTO> getPaymentById(@PathVariable Long id) {
-        Payment payment = paymentService.findById(id)
-                .orElseThrow(() -> new RuntimeException("Payment not found"));
-        return ResponseEntity.ok(new PaymentDTO(payment));
+    public ResponseEntity<PaymentDTO> getPaymentById(@PathVariable Long id, WebRequest request) {
+        return paymentsVersioned(request, () -> {
+            Payment payment = paymentService.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Payment not found"));
+            return new PaymentDTO(payment);
+        });
     }
 
     @GetMapping("/household/{householdId}")
-    public ResponseEntity<List<PaymentDTO>> getPaymentsByHousehold(@PathVariable Long householdId) {
-        List<Payment> payments = paymentService.findByHousehold(householdId);
-        List<PaymentDTO> paymentDTOs = payments.stream()
-                .map(PaymentDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(paymentDTOs);
+    public ResponseEntity<PaymentList> getPaymentsByHousehold(@PathVariable Long householdId, WebRequest request) {
+        return paymentsVersioned(request, () -> new PaymentList(paymentService.findByHousehold(householdId)));
     }
 
     @GetMapping("/fee/{feeId}")
-    public ResponseEntity<List<PaymentDTO>> getPaymentsByFee(@PathVariable Long feeId) {
-        List<Payment> payments = paymentService.findByFee(feeId);
-        List<PaymentDTO> paymentDTOs = payments.stream()
-                .map(PaymentDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(paymentDTOs);
+    public ResponseEntity<PaymentList> getPaymentsByFee(@PathVariable Long feeId, WebRequest request) {
+        return paymentsVersioned(request, () -> new PaymentList(paymentService.findByFee(feeId)));
     }
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<PaymentDTO>> getPaymentsByDateRange(
+    public ResponseEntity<PaymentList> getPaymentsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        List<Payment> payments = paymentService.findByDateRange(startDate, LocalDate.from(endDate));
-        List<PaymentDTO> paymentDTOs = payments.stream()
-                .map(PaymentDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(paymentDTOs);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            WebRequest request) {
+        return paymentsVersioned(request,
+                () -> new PaymentList(paymentService.findByDateRange(startDate, LocalDate.from(endDate))));
     }
 
     @GetMapping("/unverified")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<PaymentDTO>> getUnverifiedPayments() {
-        List<Payment> payments = paymentService.findUnverifiedPayments();
-        List<PaymentDTO> paymentDTOs = payments.stream()
-                .map(PaymentDTO::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(paymentDTOs);
+    public ResponseEntity<PaymentList> getUnverifiedPayments(WebRequest request) {
+        return paymentsVersioned(request, () -> new PaymentList(paymentService.findUnverifiedPayments()));
     }
 
     @GetMapping("/household/{householdId}/fee/{feeId}")
     public ResponseEntity<PaymentDTO> getPaymentByHouseholdAndFee(
             @PathVariable Long householdId,
-            @PathVariable Long feeId) {
-        Payment payment = paymentService.findByHouseholdAndFee(householdId, feeId);
-        return ResponseEntity.ok(new PaymentDTO(payment));
+            @PathVariable Long feeId,
+            WebRequest request) {
+        return paymentsVersioned(request,
+                () -> new PaymentDTO(paymentService.findByHouseholdAndFee(householdId, feeId)));
     }
 
     @PostMapping
@@ -153,19 +152,24 @@ public class PaymentController {
     }
 
     @GetMapping("/statistics/household/{householdId}/total")
-    public ResponseEntity<Double> getTotalPaymentsByHousehold(@PathVariable Long householdId) {
-        return ResponseEntity.ok(paymentService.calculateTotalPaymentsByHousehold(householdId));
+    public CompletableFuture<ResponseEntity<Double>> getTotalPaymentsByHousehold(@PathVariable Long householdId) {
+        return statisticsService.getTotalByHousehold(householdId).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/statistics/fee/{feeId}/total")
-    public ResponseEntity<Double> getTotalPaymentsByFee(@PathVariable Long feeId) {
-        return ResponseEntity.ok(paymentService.calculateTotalPaymentsByFee(feeId));
+    public CompletableFuture<ResponseEntity<Double>> getTotalPaymentsByFee(@PathVariable Long feeId) {
+        return statisticsService.getTotalByFee(feeId).thenApply(ResponseEntity::ok);
     }
 
     @GetMapping("/statistics/date-range/total")
-    public ResponseEntity<Double> getTotalPaymentsByDateRange(
+    public CompletableFuture<ResponseEntity<Double>> getTotalPaymentsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        return ResponseEntity.ok(paymentService.calculateTotalPaymentsByDateRange(startDate, LocalDate.from(endDate)));
+        return statisticsService.getTotalByDateRange(startDate, LocalDate.from(endDate)).thenApply(ResponseEntity::ok);
+    }
+
+    /** Payment DTOs carry the owner and fee details, so those tables take part in the version. */
+    private <T> ResponseEntity<T> paymentsVersioned(WebRequest request, Supplier<T> body) {
+        return changeVersions.respond(request, body, EntityType.PAYMENT, EntityType.HOUSEHOLD, EntityType.FEE);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.bluemoon.fees.controller;
+
+import com.bluemoon.fees.entity.RecurringFee;
+import com.bluemoon.fees.service.RecurringFeeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-fees")
+@RequiredArgsConstructor
+public class RecurringFeeController {
+
+    private final RecurringFeeService recurringFeeService;
+
+    @GetMapping
+    public ResponseEntity<List<RecurringFee>> getAllRecurringFees(
+            @RequestParam(required = false, defaultValue = "false") boolean showAll) {
+        return ResponseEntity.ok(showAll ? recurringFeeService.findAll() : recurringFeeService.findAllActive());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RecurringFee> getRecurringFeeById(@PathVariable Long id) {
+        return ResponseEntity.ok(recurringFeeService.findById(id)
+                .orElseThrow(() -> new RuntimeException("Recurring fee not found with id: " + id)));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecurringFee> createRecurringFee(@RequestBody RecurringFee recurringFee) {
+        return ResponseEntity.ok(recurringFeeService.createRecurringFee(recurringFee));
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RecurringFee> updateRecurringFee(@PathVariable Long id, @RequestBody RecurringFee recurringFee) {
+        return ResponseEntity.ok(recurringFeeService.updateRecurringFee(id, recurringFee));
+    }
+
+    // Generated charges refer to the definition, so it is only deactivated
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> deactivateRecurringFee(@PathVariable Long id) {
+        recurringFeeService.deactivateRecurringFee(id);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.bluemoon.fees.controller;
+
+import com.bluemoon.fees.dto.ReminderEnqueueResult;
+import com.bluemoon.fees.entity.ReminderMessage;
+import com.bluemoon.fees.service.ReminderDispatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reminders")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class ReminderController {
+
+    private final ReminderDispatchService reminderDispatchService;
+
+    /** Sends residents a due-soon or overdue reminder for a charge period now; safe to repeat. */
+    @PostMapping("/charges")
+    public ResponseEntity<ReminderEnqueueResult> remindCharges(
+            @RequestParam Long recurringFeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate periodStart,
+            @RequestParam(defaultValue = "false") boolean overdue) {
+        return ResponseEntity.ok(reminderDispatchService.enqueueCharges(recurringFeeId, periodStart, overdue));
+    }
+
+    @GetMapping("/outbox")
+    public ResponseEntity<Map<ReminderMessage.Status, Long>> getOutboxCounts() {
+        return ResponseEntity.ok(reminderDispatchService.getOutboxCounts());
+    }
+}
@@ -0,0 +1,20 @@
+package com.bluemoon.fees.controller;
+
+import com.bluemoon.fees.dto.SyncResponse;
+import com.bluemoon.fees.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(@RequestParam(required = false, defaultValue = "0") long since) {
+        return ResponseEntity.ok(syncService.changesSince(since));
+    }
+}
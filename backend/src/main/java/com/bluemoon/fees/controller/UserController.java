@@ -53,11 +53,7 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updateUserRole(@PathVariable Long id, @RequestBody Map<String, Boolean> roleMap) {
         boolean isAdmin = roleMap.getOrDefault("isAdmin", false);
-        User user = userService.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
-        
-        user.setRole(isAdmin ? "ADMIN" : "USER");
-        userService.save(user);
+        userService.updateRole(id, isAdmin ? "ADMIN" : "USER");
         
         return ResponseEntity.ok().build();
     }
@@ -66,11 +62,7 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> toggleUserStatus(@PathVariable Long id, @RequestBody Map<String, Boolean> statusMap) {
         boolean enabled = statusMap.getOrDefault("enabled", false);
-        User user = userService.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
-        
-        user.setEnabled(enabled);
-        userService.save(user);
+        userService.updateStatus(id, enabled);
         
         return ResponseEntity.ok().build();
     }
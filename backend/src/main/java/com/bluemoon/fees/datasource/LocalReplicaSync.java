@@ -0,0 +1,132 @@
+package com.bluemoon.fees.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stands in for replication in the {@code replica-local} profile, where primary and replica are
+ * two embedded H2 databases. The schema is copied once at startup, then every table is copied
+ * on a fixed delay, which behaves like a replica with that much lag. Each copy is a single
+ * replica transaction, so readers never see a half-copied table.
+ */
+@Slf4j
+@Component
+@Profile("replica-local")
+@RequiredArgsConstructor
+public class LocalReplicaSync {
+
+    private final DataSource dataSource;
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean schemaCopied;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        sync();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.local-sync-interval-ms:2000}",
+            initialDelayString = "${datasource.replica.local-sync-interval-ms:2000}")
+    public void sync() {
+        lock.lock();
+        try {
+            ReplicaRoutingDataSource routing = dataSource.unwrap(ReplicaRoutingDataSource.class);
+            try (Connection primary = routing.getPrimary().getConnection();
+                 Connection replica = routing.getReplica().getConnection()) {
+                if (!schemaCopied) {
+                    copySchema(primary, replica);
+                    schemaCopied = true;
+                }
+                copyData(primary, replica);
+            }
+        } catch (SQLException e) {
+            log.warn("Local replica sync failed: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void copySchema(Connection primary, Connection replica) throws SQLException {
+        List<String> ddl = new ArrayList<>();
+        try (Statement statement = primary.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA NOPASSWORDS NOSETTINGS")) {
+            while (script.next()) {
+                String sql = script.getString(1);
+                if (!sql.startsWith("CREATE USER")) {
+                    ddl.add(sql);
+                }
+            }
+        }
+        try (Statement statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : ddl) {
+                statement.execute(sql);
+            }
+            // Tables are copied one by one, so constraints may be briefly violated mid-copy
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+        log.info("Copied {} schema statements to the local replica", ddl.size());
+    }
+
+    private void copyData(Connection primary, Connection replica) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = primary.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                     + "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_TYPE = 'BASE TABLE'")) {
+            while (rs.next()) {
+                tables.add(rs.getString(1));
+            }
+        }
+
+        replica.setAutoCommit(false);
+        try {
+            for (String table : tables) {
+                copyTable(primary, replica, '"' + table + '"');
+            }
+            replica.commit();
+        } catch (SQLException e) {
+            replica.rollback();
+            throw e;
+        } finally {
+            replica.setAutoCommit(true);
+        }
+    }
+
+    private static void copyTable(Connection primary, Connection replica, String table) throws SQLException {
+        try (Statement delete = replica.createStatement()) {
+            delete.executeUpdate("DELETE FROM " + table);
+        }
+        try (Statement select = primary.createStatement();
+             ResultSet rows = select.executeQuery("SELECT * FROM " + table)) {
+            int columns = rows.getMetaData().getColumnCount();
+            String insert = "INSERT INTO " + table + " VALUES (" + "?,".repeat(columns - 1) + "?)";
+            try (PreparedStatement statement = replica.prepareStatement(insert)) {
+                int batched = 0;
+                while (rows.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        statement.setObject(i, rows.getObject(i));
+                    }
+                    statement.addBatch();
+                    if (++batched % 1_000 == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.bluemoon.fees.datasource;
+
+import com.bluemoon.fees.util.TransactionHooks;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a replica pool and everything else to the primary.
+ *
+ * <p>Connections are handed out lazily, so the physical connection is only chosen at the first
+ * statement, once the transaction manager has recorded whether the transaction is read-only. A user whose
+ * write committed within the sticky window keeps reading from the primary, so they see their
+ * own changes while the replica catches up. Work outside a transaction, such as lazy loading
+ * during serialization, always uses the primary. Reads that must never be stale, such as token
+ * revocation checks, can be forced onto the primary with {@link #onPrimary}.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    // Bounds the write timestamps kept for stickiness; expired entries are dropped beyond this
+    private static final int MAX_TRACKED_USERS = 10_000;
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+    private final long stickyWindowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, HikariDataSource replica, Duration stickyWindow,
+                                    MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        this.replicaReads = registry.counter("bluemoon.datasource.read_only", Tags.of("target", "replica"));
+        this.stickyReads = registry.counter("bluemoon.datasource.read_only", Tags.of("target", "primary"));
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        router.setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    /** Runs {@code work} with every transaction it starts on the primary, read-only or not. */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primary.close();
+    }
+
+    // Called when the lazy connection is first used, by which point the transaction is set up
+    private Target route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive() || PRIMARY_ONLY.get() != null) {
+            return Target.PRIMARY;
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null) {
+                TransactionHooks.afterCommit(() -> recordWrite(user));
+            }
+            return Target.PRIMARY;
+        }
+        Long lastWrite = user != null ? lastWrites.get(user) : null;
+        if (lastWrite != null && System.nanoTime() - lastWrite < stickyWindowNanos) {
+            stickyReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    private void recordWrite(String user) {
+        long now = System.nanoTime();
+        if (lastWrites.size() >= MAX_TRACKED_USERS) {
+            lastWrites.values().removeIf(time -> now - time >= stickyWindowNanos);
+        }
+        lastWrites.put(user, now);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
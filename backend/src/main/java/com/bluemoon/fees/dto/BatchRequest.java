@@ -0,0 +1,31 @@
+package com.bluemoon.fees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Several GET requests sent in one round trip. Each {@code path} is an {@code /api/...} path with
+ * an optional query string; {@code headers} may carry e.g. {@code If-None-Match}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchRequest {
+    private List<Item> requests;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private String id;
+        private String path;
+        private Map<String, String> headers;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bluemoon.fees.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The responses to a {@link BatchRequest}, in request order. Each item has its own status; the
+ * batch itself succeeds even when some items fail.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResponse {
+    private List<Item> responses;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private String id;
+        private int status;
+        private Map<String, String> headers;
+        // Already-serialized JSON, embedded as is
+        @JsonRawValue
+        private String body;
+    }
+}
@@ -0,0 +1,19 @@
+package com.bluemoon.fees.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.YearMonth;
+
+/** Outcome of generating charges for one month; {@code skipped} charges already existed. */
+@Data
+@Builder
+public class ChargeGenerationResult {
+    private YearMonth period;
+    private int recurringFees;
+    private int households;
+    private int chunks;
+    private long created;
+    private long skipped;
+    private long elapsedMillis;
+}
@@ -0,0 +1,22 @@
+package com.bluemoon.fees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a set of payments should have covered, priced at each fee's amount on the payment date,
+ * against what was actually paid.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeArrears {
+    private long count;
+    private double amountDue;
+    private double amountPaid;
+
+    public double getOutstanding() {
+        return amountDue - amountPaid;
+    }
+}
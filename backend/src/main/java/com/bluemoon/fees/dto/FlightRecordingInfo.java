@@ -0,0 +1,25 @@
+package com.bluemoon.fees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRecordingInfo {
+    private long id;
+    private String name;
+    private String settings;
+    private String state;
+    private Instant startTime;
+    private Instant stopTime;
+    private Long durationSeconds;
+    private long maxAgeSeconds;
+    private long maxSizeBytes;
+    private long sizeBytes;
+}
@@ -0,0 +1,22 @@
+package com.bluemoon.fees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRecordingRequest {
+    private String name;
+    // Built-in JFR configuration: "default" (low overhead) or "profile" (more detail)
+    private String settings = "default";
+    // Stops the recording automatically when set
+    private Long durationSeconds;
+    private Long maxAgeSeconds;
+    private Long maxSizeMb;
+    // Per-event overrides on top of the configuration, e.g. "jdk.ObjectAllocationSample#throttle" -> "150/s"
+    private Map<String, String> overrides;
+}
@@ -0,0 +1,18 @@
+package com.bluemoon.fees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/** Payments of one fee made on one date: how many and how much was paid, computed in the database. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaidByDate {
+    private Long feeId;
+    private LocalDate paymentDate;
+    private long count;
+    private double amountPaid;
+}
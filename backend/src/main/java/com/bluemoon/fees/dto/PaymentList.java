@@ -0,0 +1,113 @@
+package com.bluemoon.fees.dto;
+
+import com.bluemoon.fees.entity.Fee;
+import com.bluemoon.fees.entity.Household;
+import com.bluemoon.fees.entity.Payment;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A payment list response. Serializes to the same JSON as a {@code List<PaymentDTO>}, but writes
+ * each payment straight from the entity to the generator, so no DTO is allocated per row and no
+ * bean introspection runs. Works for every negotiated format (JSON, Smile, CBOR).
+ */
+@JsonSerialize(using = PaymentList.Serializer.class)
+public record PaymentList(List<Payment> payments) {
+
+    public static class Serializer extends StdSerializer<PaymentList> {
+
+        // Field names in PaymentDTO order, pre-encoded once
+        private static final SerializableString ID = new SerializedString("id");
+        private static final SerializableString HOUSEHOLD_ID = new SerializedString("householdId");
+        private static final SerializableString HOUSEHOLD_OWNER_NAME = new SerializedString("householdOwnerName");
+        private static final SerializableString HOUSEHOLD_ADDRESS = new SerializedString("householdAddress");
+        private static final SerializableString FEE_ID = new SerializedString("feeId");
+        private static final SerializableString FEE_NAME = new SerializedString("feeName");
+        private static final SerializableString FEE_AMOUNT = new SerializedString("feeAmount");
+        private static final SerializableString PAYMENT_DATE = new SerializedString("paymentDate");
+        private static final SerializableString AMOUNT = new SerializedString("amount");
+        private static final SerializableString AMOUNT_PAID = new SerializedString("amountPaid");
+        private static final SerializableString VERIFIED = new SerializedString("verified");
+        private static final SerializableString NOTES = new SerializedString("notes");
+
+        public Serializer() {
+            super(PaymentList.class);
+        }
+
+        @Override
+        public void serialize(PaymentList value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            // Dates follow the mapper's configuration, like the DTO's would
+            JsonSerializer<Object> dates = provider.findValueSerializer(LocalDate.class);
+            List<Payment> payments = value.payments();
+            gen.writeStartArray(payments, payments.size());
+            for (Payment payment : payments) {
+                write(payment, gen, provider, dates);
+            }
+            gen.writeEndArray();
+        }
+
+        private static void write(Payment payment, JsonGenerator gen, SerializerProvider provider,
+                                  JsonSerializer<Object> dates) throws IOException {
+            gen.writeStartObject(payment);
+            gen.writeFieldName(ID);
+            writeNumber(gen, payment.getId());
+
+            Household household = payment.getHousehold();
+            gen.writeFieldName(HOUSEHOLD_ID);
+            writeNumber(gen, household != null ? household.getId() : null);
+            gen.writeFieldName(HOUSEHOLD_OWNER_NAME);
+            gen.writeString(household != null ? household.getOwnerName() : null);
+            gen.writeFieldName(HOUSEHOLD_ADDRESS);
+            gen.writeString(household != null ? household.getAddress() : null);
+
+            Fee fee = payment.getFee();
+            gen.writeFieldName(FEE_ID);
+            writeNumber(gen, fee != null ? fee.getId() : null);
+            gen.writeFieldName(FEE_NAME);
+            gen.writeString(fee != null ? fee.getName() : null);
+            gen.writeFieldName(FEE_AMOUNT);
+            writeNumber(gen, fee != null ? fee.getAmount() : null);
+
+            gen.writeFieldName(PAYMENT_DATE);
+            if (payment.getPaymentDate() == null) {
+                gen.writeNull();
+            } else {
+                dates.serialize(payment.getPaymentDate(), gen, provider);
+            }
+            gen.writeFieldName(AMOUNT);
+            writeNumber(gen, payment.getAmount());
+            gen.writeFieldName(AMOUNT_PAID);
+            writeNumber(gen, payment.getAmountPaid());
+            gen.writeFieldName(VERIFIED);
+            gen.writeBoolean(payment.isVerified());
+            gen.writeFieldName(NOTES);
+            gen.writeString(payment.getNotes());
+            gen.writeEndObject();
+        }
+
+        private static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value);
+            }
+        }
+
+        private static void writeNumber(JsonGenerator gen, Double value) throws IOException {
+            if (value == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bluemoon.fees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Count, sum and verified count of a set of payments, computed in the database. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentTotals {
+    private long count;
+    private double total;
+    private long verifiedCount;
+}
@@ -0,0 +1,22 @@
+package com.bluemoon.fees.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of one penalty accrual run. {@code conflicts} are charges that received a payment while
+ * the run was in progress; they are left for the next run.
+ */
+@Data
+@Builder
+public class PenaltyRunResult {
+    private LocalDate date;
+    private int batches;
+    private long scanned;
+    private long updated;
+    private long settled;
+    private long conflicts;
+    private long elapsedMillis;
+}
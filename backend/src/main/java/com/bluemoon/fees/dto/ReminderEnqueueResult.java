@@ -0,0 +1,21 @@
+package com.bluemoon.fees.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of enqueueing the reminders of one charge period. {@code households} owe something for
+ * the period; {@code skipped} messages were already in the outbox.
+ */
+@Data
+@Builder
+public class ReminderEnqueueResult {
+    private long recurringFeeId;
+    private LocalDate periodStart;
+    private boolean overdue;
+    private int households;
+    private int enqueued;
+    private int skipped;
+}
@@ -0,0 +1,32 @@
+package com.bluemoon.fees.dto;
+
+import com.bluemoon.fees.entity.Fee;
+import com.bluemoon.fees.entity.Household;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Changes since a client's last sync. Pass {@code version} as {@code since} on the next call.
+ * When {@code reset} is true the lists are a full snapshot and the client should replace its
+ * local state instead of merging.
+ */
+@Data
+@Builder
+public class SyncResponse {
+    private long version;
+    private boolean reset;
+    private List<Household> households;
+    private List<Fee> fees;
+    private PaymentList payments;
+    private Deleted deleted;
+
+    @Data
+    @Builder
+    public static class Deleted {
+        private List<Long> households;
+        private List<Long> fees;
+        private List<Long> payments;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bluemoon.fees.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per change to a {@link ChangeTracked} table. The auto-increment key is the change
+ * sequence, so taking one is a plain insert and writers never wait for each other. Sequences of
+ * rolled back transactions are lost, and a transaction can commit after another one that took a
+ * later sequence; see {@link com.bluemoon.fees.repository.ChangeLogRepository#safeSeq()}.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+    @Index(name = "idx_change_log_created_at", columnList = "created_at"),
+    @Index(name = "idx_change_log_type_seq", columnList = "entity_type, seq, created_at")
+})
+@Data
+@NoArgsConstructor
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    // Null only for the row that continues the sequence of a database written before this table
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 16)
+    private Tombstone.EntityType entityType;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.bluemoon.fees.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single row recording how far tombstones have been pruned. Sequences themselves come from
+ * {@link ChangeLogEntry}. Maintained by {@link com.bluemoon.fees.repository.ChangeLogRepository}.
+ */
+@Entity
+@Table(name = "change_sequence")
+@Data
+@NoArgsConstructor
+public class ChangeSequence {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    // Tombstones up to this sequence have been pruned; clients behind it must resync from scratch
+    @Column(name = "pruned_through", nullable = false)
+    private long prunedThrough;
+}
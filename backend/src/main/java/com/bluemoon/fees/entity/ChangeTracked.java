@@ -0,0 +1,19 @@
+package com.bluemoon.fees.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity whose changes are published through {@code /api/sync}. {@link ChangeTrackingListener}
+ * stamps every insert and update with a new change sequence and records a {@link Tombstone}
+ * for every delete.
+ */
+public interface ChangeTracked {
+
+    Long getId();
+
+    void setChangeSeq(Long changeSeq);
+
+    void setUpdatedAt(LocalDateTime updatedAt);
+
+    Tombstone.EntityType trackedType();
+}
@@ -0,0 +1,32 @@
+package com.bluemoon.fees.entity;
+
+import com.bluemoon.fees.repository.ChangeLogRepository;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Assigns change sequences to {@link ChangeTracked} entities. Runs inside the flush, so the
+ * sequence is taken with plain JDBC on the transaction's connection rather than through the
+ * persistence context, and its change log row commits or rolls back with the change.
+ */
+@RequiredArgsConstructor
+public class ChangeTrackingListener {
+
+    private final ChangeLogRepository changeLog;
+
+    @PrePersist
+    @PreUpdate
+    void stamp(ChangeTracked entity) {
+        entity.setChangeSeq(changeLog.nextSeq(entity.trackedType()));
+        entity.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @PreRemove
+    void tombstone(ChangeTracked entity) {
+        changeLog.insertTombstone(entity.trackedType(), entity.getId(), changeLog.nextSeq(entity.trackedType()));
+    }
+}
@@ -1,29 +1,25 @@
 package com.bluemoon.fees.entity;
 
-import com.fasterxml.jackson.annotation.JsonIdentityInfo;
-import com.fasterxml.jackson.annotation.JsonIdentityReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
-import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "fees")
+@Table(name = "fees", indexes = @Index(name = "idx_fees_change_seq", columnList = "change_seq"))
+@EntityListeners(ChangeTrackingListener.class)
 @ToString(exclude = {"payments"})
-@JsonIdentityInfo(
-  generator = ObjectIdGenerators.PropertyGenerator.class, 
-  property = "id", 
-  scope = Fee.class
-)
-public class Fee {
+public class Fee implements ChangeTracked {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -47,6 +43,21 @@ public class Fee {
     private boolean active = true;
     
     @OneToMany(mappedBy = "fee", cascade = CascadeType.ALL)
-    @JsonIdentityReference(alwaysAsId = true)
+    @JsonSerialize(contentUsing = IdReferenceSerializer.class)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private List<Payment> payments;
-} 
\ No newline at end of file
+
+    // Sync bookkeeping, maintained by ChangeTrackingListener
+    @Column(name = "change_seq")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long changeSeq;
+
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime updatedAt;
+
+    @Override
+    public Tombstone.EntityType trackedType() {
+        return Tombstone.EntityType.FEE;
+    }
+}
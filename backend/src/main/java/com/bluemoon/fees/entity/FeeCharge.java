@@ -0,0 +1,72 @@
+package com.bluemoon.fees.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * What a household owes for one period of a {@link RecurringFee}. Written in batches by the
+ * charge generator; the unique key makes generating a period twice harmless.
+ */
+@Entity
+@Table(name = "fee_charges",
+    uniqueConstraints = @UniqueConstraint(name = "uk_fee_charges_fee_household_period",
+        columnNames = {"recurring_fee_id", "household_id", "period_start"}),
+    indexes = {
+        @Index(name = "idx_fee_charges_household_period", columnList = "household_id, period_start"),
+        @Index(name = "idx_fee_charges_penalty", columnList = "penalty_settled, due_date")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeCharge {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recurring_fee_id", nullable = false)
+    private Long recurringFeeId;
+
+    @Column(name = "household_id", nullable = false)
+    private Long householdId;
+
+    // First day of the billing period
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(nullable = false)
+    private Double amount;
+
+    @Column(name = "amount_paid", nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Double amountPaid = 0.0;
+
+    // Late-payment penalty accrued so far, maintained by the penalty batch
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private Double penalty = 0.0;
+
+    // Last day the penalty has been accrued for; null until the charge first becomes overdue
+    @Column(name = "penalty_through")
+    private LocalDate penaltyThrough;
+
+    // Nothing left to accrue (paid in full or penalty capped) until the charge changes again
+    @Column(name = "penalty_settled", nullable = false)
+    @ColumnDefault("false")
+    private boolean penaltySettled;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,54 @@
+package com.bluemoon.fees.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One version of a {@link Fee}'s amount and due date, in effect from {@code effectiveFrom} up to
+ * but not including {@code effectiveTo}. The versions of a fee never overlap; the latest one is
+ * open-ended.
+ */
+@Entity
+@Table(name = "fee_prices",
+    uniqueConstraints = @UniqueConstraint(name = "uk_fee_prices_fee_from", columnNames = {"fee_id", "effective_from"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeePrice {
+
+    /** Start of a fee's first version, so payments dated before any price change have a price. */
+    public static final LocalDate BEGINNING = LocalDate.EPOCH;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "fee_id", nullable = false)
+    private Long feeId;
+
+    @Column(nullable = false)
+    private Double amount;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    // Null while this is the current version
+    @Column(name = "effective_to")
+    private LocalDate effectiveTo;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public boolean appliesOn(LocalDate date) {
+        return !date.isBefore(effectiveFrom) && (effectiveTo == null || date.isBefore(effectiveTo));
+    }
+}
@@ -0,0 +1,29 @@
+package com.bluemoon.fees.entity;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a related entity as its id. Replaces {@code @JsonIdentityInfo} references, which kept
+ * an identity map per serialization only to print the same ids. Reading the id does not
+ * initialize a lazy proxy.
+ */
+public class IdReferenceSerializer extends StdSerializer<ChangeTracked> {
+
+    public IdReferenceSerializer() {
+        super(ChangeTracked.class);
+    }
+
+    @Override
+    public void serialize(ChangeTracked value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Long id = value.getId();
+        if (id == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(id);
+        }
+    }
+}
@@ -1,27 +1,23 @@
 package com.bluemoon.fees.entity;
 
-import com.fasterxml.jackson.annotation.JsonIdentityInfo;
-import com.fasterxml.jackson.annotation.JsonIdentityReference;
-import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.ToString;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = @Index(name = "idx_payments_change_seq", columnList = "change_seq"))
+@EntityListeners(ChangeTrackingListener.class)
 @ToString(exclude = {"household", "fee"})
-@JsonIdentityInfo(
-  generator = ObjectIdGenerators.PropertyGenerator.class, 
-  property = "id",
-  scope = Payment.class
-)
-public class Payment {
+public class Payment implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,12 +25,12 @@ public class Payment {
     
     @ManyToOne
     @JoinColumn(name = "household_id", nullable = false)
-    @JsonIdentityReference(alwaysAsId = true)
+    @JsonSerialize(using = IdReferenceSerializer.class)
     private Household household;
     
     @ManyToOne
     @JoinColumn(name = "fee_id", nullable = false)
-    @JsonIdentityReference(alwaysAsId = true)
+    @JsonSerialize(using = IdReferenceSerializer.class)
     private Fee fee;
     
     @Column(name = "payment_date", nullable = false)
@@ -50,4 +46,18 @@ public class Payment {
     private boolean verified = false;
     
     private String notes;
-} 
\ No newline at end of file
+
+    // Sync bookkeeping, maintained by ChangeTrackingListener
+    @Column(name = "change_seq")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long changeSeq;
+
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime updatedAt;
+
+    @Override
+    public Tombstone.EntityType trackedType() {
+        return Tombstone.EntityType.PAYMENT;
+    }
+}
@@ -0,0 +1,88 @@
+package com.bluemoon.fees.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * A fee billed to every active household once per period. Charges are materialized as
+ * {@link FeeCharge} rows by the charge generator.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "recurring_fees")
+public class RecurringFee {
+
+    public enum Frequency {
+        MONTHLY(1), QUARTERLY(3), YEARLY(12);
+
+        private final int months;
+
+        Frequency(int months) {
+            this.months = months;
+        }
+
+        /** First month of the billing period containing {@code month}. */
+        public YearMonth periodStart(YearMonth month) {
+            return month.withMonth((month.getMonthValue() - 1) / months * months + 1);
+        }
+
+        public YearMonth periodEnd(YearMonth month) {
+            return periodStart(month).plusMonths(months - 1);
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String type; // MANDATORY or VOLUNTARY
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Frequency frequency;
+
+    @Column(nullable = false)
+    private Double amount;
+
+    // Multiply the amount by Household.numMembers
+    @Column(name = "per_member", nullable = false)
+    private boolean perMember;
+
+    // Day of the period's first month the charge is due; clamped to the month's length
+    @Column(name = "due_day", nullable = false)
+    private Integer dueDay = 15;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    private String description;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    /** Whether the billing period containing {@code month} overlaps this fee's lifetime. */
+    public boolean appliesTo(YearMonth month) {
+        YearMonth start = frequency.periodStart(month);
+        YearMonth end = frequency.periodEnd(month);
+        return active
+                && !startDate.isAfter(end.atEndOfMonth())
+                && (endDate == null || !endDate.isBefore(start.atDay(1)));
+    }
+
+    public LocalDate dueDate(YearMonth periodStart) {
+        return periodStart.atDay(Math.min(dueDay, periodStart.lengthOfMonth()));
+    }
+}
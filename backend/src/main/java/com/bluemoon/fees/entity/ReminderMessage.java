@@ -0,0 +1,75 @@
+package com.bluemoon.fees.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A rendered reminder waiting in the outbox for one household on one transport. Rows are
+ * written in batches when a reminder fires and claimed by the dispatcher; the dedup key makes
+ * enqueueing the same reminder twice harmless.
+ */
+@Entity
+@Table(name = "reminder_outbox",
+    uniqueConstraints = @UniqueConstraint(name = "uk_reminder_outbox_dedup_key", columnNames = "dedup_key"),
+    indexes = @Index(name = "idx_reminder_outbox_status_next", columnList = "status, next_attempt_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderMessage {
+
+    public enum Status {
+        PENDING, SENDING, SENT, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "dedup_key", nullable = false, length = 200)
+    private String dedupKey;
+
+    @Column(name = "household_id", nullable = false)
+    private Long householdId;
+
+    // Name of the ReminderTransport, e.g. "email"
+    @Column(nullable = false, length = 32)
+    private String transport;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, length = 4000)
+    private String body;
+
+    @Column(nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // When a pending message may next be tried; for a message being sent, when its claim lapses
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Set by each claim; the outcome of a send is only recorded while the token still matches
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
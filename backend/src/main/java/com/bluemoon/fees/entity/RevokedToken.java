@@ -0,0 +1,31 @@
+package com.bluemoon.fees.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+    // JWT id (jti) of the revoked token
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    // When the token would have expired anyway; the row can be purged after this
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
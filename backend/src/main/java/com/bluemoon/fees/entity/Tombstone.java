@@ -0,0 +1,42 @@
+package com.bluemoon.fees.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/** Record of a deleted row, kept so sync clients can drop it from their local state. */
+@Entity
+@Table(name = "tombstones", indexes = {
+    @Index(name = "idx_tombstones_change_seq", columnList = "change_seq"),
+    @Index(name = "idx_tombstones_deleted_at", columnList = "deleted_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tombstone {
+
+    public enum EntityType {
+        HOUSEHOLD, FEE, PAYMENT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
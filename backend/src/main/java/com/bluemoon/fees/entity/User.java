@@ -37,6 +37,10 @@ public class User implements UserDetails {
     private String fullName;
     private boolean enabled = true;
 
+    // Bumped whenever the user's role, status or password changes; tokens carrying an older version are rejected
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + role));
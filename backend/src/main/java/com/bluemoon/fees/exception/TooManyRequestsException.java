@@ -0,0 +1,18 @@
+package com.bluemoon.fees.exception;
+
+import lombok.Getter;
+
+/**
+ * Signals that a request was shed because a bounded resource is saturated. Mapped to
+ * HTTP 429 with a {@code Retry-After} header by {@link GlobalExceptionHandler}.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,106 @@
+package com.bluemoon.fees.monitoring;
+
+import com.bluemoon.fees.entity.Notification;
+import com.bluemoon.fees.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Domain counters published next to the technical metrics. Events raised inside a transaction
+ * are only counted once it commits.
+ */
+@Component
+public class BusinessMetrics {
+
+    public enum LoginOutcome {
+        SUCCESS, FAILURE, THROTTLED
+    }
+
+    private final Counter paymentsCreated;
+    private final Counter paymentsCreatedVerified;
+    private final Counter paymentsVerified;
+    private final Counter paymentsUnverified;
+    private final Counter chargesGenerated;
+    private final Counter remindersDueSoon;
+    private final Counter remindersOverdue;
+    private final Map<Notification.EntityType, Counter> notifications = new EnumMap<>(Notification.EntityType.class);
+    private final Map<LoginOutcome, Counter> logins = new EnumMap<>(LoginOutcome.class);
+
+    public BusinessMetrics(MeterRegistry registry) {
+        paymentsCreated = paymentsCreatedCounter(registry, false);
+        paymentsCreatedVerified = paymentsCreatedCounter(registry, true);
+        paymentsVerified = Counter.builder("bluemoon.payments.verification")
+                .description("Payments marked as verified or unverified after creation")
+                .tag("action", "verify")
+                .register(registry);
+        paymentsUnverified = Counter.builder("bluemoon.payments.verification")
+                .description("Payments marked as verified or unverified after creation")
+                .tag("action", "unverify")
+                .register(registry);
+        chargesGenerated = Counter.builder("bluemoon.charges.generated")
+                .description("Recurring fee charges written by the charge generator")
+                .register(registry);
+        remindersDueSoon = remindersCounter(registry, "due_soon");
+        remindersOverdue = remindersCounter(registry, "overdue");
+        for (Notification.EntityType type : Notification.EntityType.values()) {
+            notifications.put(type, Counter.builder("bluemoon.notifications.emitted")
+                    .description("Notifications created for users")
+                    .tag("entity_type", type.name())
+                    .register(registry));
+        }
+        for (LoginOutcome outcome : LoginOutcome.values()) {
+            logins.put(outcome, Counter.builder("bluemoon.logins")
+                    .description("Login attempts by outcome")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    public void paymentCreated(boolean verified) {
+        TransactionHooks.afterCommit((verified ? paymentsCreatedVerified : paymentsCreated)::increment);
+    }
+
+    public void paymentVerified() {
+        TransactionHooks.afterCommit(paymentsVerified::increment);
+    }
+
+    public void paymentUnverified() {
+        TransactionHooks.afterCommit(paymentsUnverified::increment);
+    }
+
+    public void chargesGenerated(long count) {
+        if (count > 0) {
+            TransactionHooks.afterCommit(() -> chargesGenerated.increment(count));
+        }
+    }
+
+    public void reminderFired(boolean overdue) {
+        TransactionHooks.afterCommit((overdue ? remindersOverdue : remindersDueSoon)::increment);
+    }
+
+    public void notificationEmitted(Notification.EntityType entityType) {
+        TransactionHooks.afterCommit(notifications.get(entityType)::increment);
+    }
+
+    public void loginAttempt(LoginOutcome outcome) {
+        logins.get(outcome).increment();
+    }
+
+    private static Counter paymentsCreatedCounter(MeterRegistry registry, boolean verified) {
+        return Counter.builder("bluemoon.payments.created")
+                .description("Payments recorded")
+                .tag("verified", String.valueOf(verified))
+                .register(registry);
+    }
+
+    private static Counter remindersCounter(MeterRegistry registry, String kind) {
+        return Counter.builder("bluemoon.reminders.fired")
+                .description("Due-date reminders that produced a notification")
+                .tag("kind", kind)
+                .register(registry);
+    }
+}
@@ -0,0 +1,171 @@
+package com.bluemoon.fees.monitoring;
+
+import com.bluemoon.fees.dto.FlightRecordingInfo;
+import com.bluemoon.fees.dto.FlightRecordingRequest;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Starts, stops and dumps Java Flight Recorder recordings inside the running JVM. Recordings
+ * are kept in the JFR disk repository, bounded by age and size, until they are closed.
+ */
+@Slf4j
+@Component
+public class FlightRecordingService implements DisposableBean {
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    @Value("${jfr.max-running-recordings:2}")
+    private int maxRunningRecordings;
+
+    @Value("${jfr.max-retained-recordings:10}")
+    private int maxRetainedRecordings;
+
+    @Value("${jfr.default-max-age-seconds:3600}")
+    private long defaultMaxAgeSeconds;
+
+    @Value("${jfr.default-max-size-mb:250}")
+    private long defaultMaxSizeMb;
+
+    private final Map<Long, Entry> recordings = new ConcurrentHashMap<>();
+    // A lock rather than synchronized so a waiting virtual thread does not pin its carrier
+    private final ReentrantLock startLock = new ReentrantLock();
+
+    public FlightRecordingInfo start(FlightRecordingRequest request) {
+        startLock.lock();
+        try {
+            return doStart(request);
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    private FlightRecordingInfo doStart(FlightRecordingRequest request) {
+        String settings = request.getSettings() != null ? request.getSettings() : "default";
+        if (!SETTINGS.contains(settings)) {
+            throw new RuntimeException("Unknown JFR settings: " + settings + ", expected one of " + SETTINGS);
+        }
+        long running = recordings.values().stream().filter(entry -> entry.recording.getState() == RecordingState.RUNNING).count();
+        if (running >= maxRunningRecordings) {
+            throw new RuntimeException("Too many running recordings (" + running + "), stop one first");
+        }
+        if (recordings.size() >= maxRetainedRecordings) {
+            throw new RuntimeException("Too many retained recordings (" + recordings.size() + "), delete one first");
+        }
+
+        Map<String, String> eventSettings;
+        try {
+            eventSettings = new HashMap<>(Configuration.getConfiguration(settings).getSettings());
+        } catch (IOException | ParseException e) {
+            throw new RuntimeException("Could not load JFR settings: " + settings, e);
+        }
+        if (request.getOverrides() != null) {
+            eventSettings.putAll(request.getOverrides());
+        }
+
+        Recording recording = new Recording(eventSettings);
+        recording.setName(request.getName() != null ? request.getName() : "bluemoon-" + settings);
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofSeconds(request.getMaxAgeSeconds() != null ? request.getMaxAgeSeconds() : defaultMaxAgeSeconds));
+        recording.setMaxSize((request.getMaxSizeMb() != null ? request.getMaxSizeMb() : defaultMaxSizeMb) * 1024 * 1024);
+        if (request.getDurationSeconds() != null) {
+            recording.setDuration(Duration.ofSeconds(request.getDurationSeconds()));
+        }
+        recording.start();
+        recordings.put(recording.getId(), new Entry(recording, settings));
+        log.info("Started JFR recording {} ({}) with {} settings", recording.getId(), recording.getName(), settings);
+        return info(recordings.get(recording.getId()));
+    }
+
+    public FlightRecordingInfo stop(long id) {
+        Entry entry = find(id);
+        if (entry.recording.getState() == RecordingState.RUNNING) {
+            entry.recording.stop();
+            log.info("Stopped JFR recording {}", id);
+        }
+        return info(entry);
+    }
+
+    public List<FlightRecordingInfo> list() {
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.recording.getId()))
+                .map(FlightRecordingService::info)
+                .toList();
+    }
+
+    /**
+     * Writes the data recorded so far to a temporary file, which the caller must delete. Works
+     * on running recordings too, without stopping them.
+     */
+    public Path dump(long id) {
+        Entry entry = find(id);
+        try {
+            Path file = Files.createTempFile("bluemoon-" + id + "-", ".jfr");
+            entry.recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump JFR recording " + id, e);
+        }
+    }
+
+    public void delete(long id) {
+        Entry entry = recordings.remove(id);
+        if (entry == null) {
+            throw new RuntimeException("Recording not found with id: " + id);
+        }
+        entry.recording.close();
+        log.info("Closed JFR recording {}", id);
+    }
+
+    @Override
+    public void destroy() {
+        recordings.values().forEach(entry -> entry.recording.close());
+        recordings.clear();
+    }
+
+    private Entry find(long id) {
+        Entry entry = recordings.get(id);
+        if (entry == null) {
+            throw new RuntimeException("Recording not found with id: " + id);
+        }
+        return entry;
+    }
+
+    private static FlightRecordingInfo info(Entry entry) {
+        Recording recording = entry.recording;
+        return FlightRecordingInfo.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .settings(entry.settings)
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .stopTime(recording.getState() == RecordingState.RUNNING ? null : recording.getStopTime())
+                .durationSeconds(recording.getDuration() != null ? recording.getDuration().toSeconds() : null)
+                .maxAgeSeconds(recording.getMaxAge() != null ? recording.getMaxAge().toSeconds() : 0)
+                .maxSizeBytes(recording.getMaxSize())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+
+    private record Entry(Recording recording, String settings) {
+    }
+}
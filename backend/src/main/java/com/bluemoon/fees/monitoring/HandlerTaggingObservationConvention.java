@@ -0,0 +1,31 @@
+package com.bluemoon.fees.monitoring;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Adds a {@code handler} tag ({@code PaymentController#getAllPayments}) to the
+ * {@code http.server.requests} metrics so latency can be broken down per controller method,
+ * not only per URI pattern.
+ */
+public class HandlerTaggingObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final KeyValue HANDLER_NONE = KeyValue.of("handler", "none");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(handler(context));
+    }
+
+    private KeyValue handler(ServerRequestObservationContext context) {
+        if (context.getCarrier() != null
+                && context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            return KeyValue.of("handler", method.getBeanType().getSimpleName() + "#" + method.getMethod().getName());
+        }
+        return HANDLER_NONE;
+    }
+}
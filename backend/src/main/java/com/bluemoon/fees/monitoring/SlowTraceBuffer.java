@@ -0,0 +1,53 @@
+package com.bluemoon.fees.monitoring;
+
+import com.bluemoon.fees.config.TracingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent slow traces. Writers claim a slot with one atomic
+ * increment and overwrite whatever was there, so recording never blocks a request.
+ */
+@Component
+public class SlowTraceBuffer {
+
+    private final AtomicReferenceArray<TraceRecord> slots;
+    private final AtomicLong written = new AtomicLong();
+
+    public SlowTraceBuffer(TracingProperties properties) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, properties.getBufferSize()));
+    }
+
+    public void add(TraceRecord trace) {
+        long index = written.getAndIncrement();
+        slots.set((int) (index % slots.length()), trace);
+    }
+
+    /** Newest first. */
+    public List<TraceRecord> recent(int limit) {
+        long newest = written.get() - 1;
+        int count = (int) Math.min(Math.min(limit, slots.length()), newest + 1);
+        List<TraceRecord> traces = new ArrayList<>(count);
+        for (long index = newest; index > newest - count; index--) {
+            TraceRecord trace = slots.get((int) (index % slots.length()));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    public long getRecordedCount() {
+        return written.get();
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
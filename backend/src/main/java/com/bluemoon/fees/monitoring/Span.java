@@ -0,0 +1,94 @@
+package com.bluemoon.fees.monitoring;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One timed section of a request. Spans are opened with {@link Tracing#start} and closed with
+ * try-with-resources; when no trace is active the shared {@link #NOOP} span is returned and
+ * every call on it does nothing.
+ */
+public final class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span(null, null, SpanKind.REQUEST, "noop");
+
+    private final Trace trace;
+    private final Span parent;
+    private final SpanKind kind;
+    private final String name;
+    private final long startNanos;
+    private long endNanos;
+    private Map<String, Object> attributes;
+    private List<Span> children;
+
+    Span(Trace trace, Span parent, SpanKind kind, String name) {
+        this.trace = trace;
+        this.parent = parent;
+        this.kind = kind;
+        this.name = name;
+        this.startNanos = trace != null ? System.nanoTime() : 0;
+    }
+
+    public Span attribute(String key, Object value) {
+        if (trace != null) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    /** Adds {@code delta} to a numeric attribute, e.g. rows read from a result set. */
+    public void increment(String key, long delta) {
+        if (trace != null) {
+            Object current = attributes != null ? attributes.get(key) : null;
+            attribute(key, (current instanceof Long count ? count : 0L) + delta);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (trace != null && endNanos == 0) {
+            endNanos = System.nanoTime();
+            trace.closed(this);
+        }
+    }
+
+    void addChild(Span child) {
+        if (children == null) {
+            children = new ArrayList<>();
+        }
+        children.add(child);
+    }
+
+    Span getParent() {
+        return parent;
+    }
+
+    SpanKind getKind() {
+        return kind;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    long getDurationNanos() {
+        return (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+    }
+
+    Map<String, Object> getAttributes() {
+        return attributes != null ? attributes : Map.of();
+    }
+
+    List<Span> getChildren() {
+        return children != null ? children : List.of();
+    }
+}
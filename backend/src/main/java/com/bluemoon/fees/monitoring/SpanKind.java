@@ -0,0 +1,11 @@
+package com.bluemoon.fees.monitoring;
+
+public enum SpanKind {
+    REQUEST,
+    FILTER,
+    CONTROLLER,
+    SERVICE,
+    REPOSITORY,
+    SQL,
+    SERIALIZATION
+}
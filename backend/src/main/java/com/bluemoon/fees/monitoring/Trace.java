@@ -0,0 +1,50 @@
+package com.bluemoon.fees.monitoring;
+
+/**
+ * The span tree of one request, owned by the thread handling it. Stops recording new spans
+ * once {@code maxSpans} is reached so a query loop cannot grow it without bound.
+ */
+final class Trace {
+
+    private final Span root;
+    private final int maxSpans;
+    private Span current;
+    private int spanCount = 1;
+    private int droppedSpans;
+
+    Trace(String name, int maxSpans) {
+        this.root = new Span(this, null, SpanKind.REQUEST, name);
+        this.maxSpans = maxSpans;
+        this.current = root;
+    }
+
+    Span start(SpanKind kind, String name) {
+        if (spanCount >= maxSpans) {
+            droppedSpans++;
+            return Span.NOOP;
+        }
+        spanCount++;
+        Span span = new Span(this, current, kind, name);
+        current.addChild(span);
+        current = span;
+        return span;
+    }
+
+    void closed(Span span) {
+        // Spans normally close innermost first; tolerate a parent closing before its child
+        for (Span open = current; open != null; open = open.getParent()) {
+            if (open == span) {
+                current = span.getParent() != null ? span.getParent() : root;
+                return;
+            }
+        }
+    }
+
+    Span getRoot() {
+        return root;
+    }
+
+    int getDroppedSpans() {
+        return droppedSpans;
+    }
+}
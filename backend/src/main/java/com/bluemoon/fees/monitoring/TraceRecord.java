@@ -0,0 +1,68 @@
+package com.bluemoon.fees.monitoring;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of a finished slow request, as returned by the admin trace endpoint. Times are
+ * in milliseconds; span offsets are relative to the start of the request.
+ */
+public record TraceRecord(
+        Instant startedAt,
+        String method,
+        String path,
+        int status,
+        double durationMs,
+        int sqlStatements,
+        double sqlMs,
+        long sqlRows,
+        int droppedSpans,
+        SpanRecord root
+) {
+
+    public record SpanRecord(
+            SpanKind kind,
+            String name,
+            double offsetMs,
+            double durationMs,
+            Map<String, Object> attributes,
+            List<SpanRecord> children
+    ) {
+    }
+
+    static TraceRecord of(Trace trace, Instant startedAt, String method, String path, int status) {
+        Span root = trace.getRoot();
+        SqlTotals sql = new SqlTotals();
+        SpanRecord rootRecord = copy(root, root.getStartNanos(), sql);
+        return new TraceRecord(startedAt, method, path, status, millis(root.getDurationNanos()),
+                sql.statements, millis(sql.nanos), sql.rows, trace.getDroppedSpans(), rootRecord);
+    }
+
+    private static SpanRecord copy(Span span, long origin, SqlTotals sql) {
+        if (span.getKind() == SpanKind.SQL) {
+            sql.statements++;
+            sql.nanos += span.getDurationNanos();
+            if (span.getAttributes().get("rows") instanceof Long rows) {
+                sql.rows += rows;
+            }
+        }
+        List<SpanRecord> children = span.getChildren().stream()
+                .map(child -> copy(child, origin, sql))
+                .toList();
+        return new SpanRecord(span.getKind(), span.getName(), millis(span.getStartNanos() - origin),
+                millis(span.getDurationNanos()), Collections.unmodifiableMap(new LinkedHashMap<>(span.getAttributes())), children);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private static final class SqlTotals {
+        int statements;
+        long nanos;
+        long rows;
+    }
+}
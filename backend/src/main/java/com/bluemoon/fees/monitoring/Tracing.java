@@ -0,0 +1,34 @@
+package com.bluemoon.fees.monitoring;
+
+/**
+ * Entry point for in-process request tracing. {@link TracingFilter} binds a trace to the
+ * request thread; code anywhere below it opens spans with
+ * <pre>try (Span span = Tracing.start(SpanKind.SERVICE, "name")) { ... }</pre>
+ * Work on other threads is not traced.
+ */
+public final class Tracing {
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private Tracing() {
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static Span start(SpanKind kind, String name) {
+        Trace trace = CURRENT.get();
+        return trace != null ? trace.start(kind, name) : Span.NOOP;
+    }
+
+    static Trace begin(String name, int maxSpans) {
+        Trace trace = new Trace(name, maxSpans);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+}
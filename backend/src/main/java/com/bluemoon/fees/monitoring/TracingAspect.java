@@ -0,0 +1,67 @@
+package com.bluemoon.fees.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens controller, service and repository spans. Ordered ahead of the transaction advice so
+ * service spans include transaction begin and commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, SpanKind.CONTROLLER, joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, SpanKind.SERVICE, joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!Tracing.isActive()) {
+            return joinPoint.proceed();
+        }
+        // Inherited methods such as findById are declared on CrudRepository; name the application interface instead
+        String owner = repositoryNames.computeIfAbsent(joinPoint.getTarget().getClass(), TracingAspect::repositoryName);
+        return trace(joinPoint, SpanKind.REPOSITORY, owner);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, SpanKind kind, String owner) throws Throwable {
+        if (!Tracing.isActive()) {
+            return joinPoint.proceed();
+        }
+        try (Span span = Tracing.start(kind, owner + "." + joinPoint.getSignature().getName())) {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                span.attribute("exception", e.getClass().getSimpleName());
+                throw e;
+            }
+        }
+    }
+
+    private static String repositoryName(Class<?> type) {
+        for (Class<?> candidate : type.getInterfaces()) {
+            if (Repository.class.isAssignableFrom(candidate)) {
+                return candidate.getSimpleName();
+            }
+        }
+        return type.getSimpleName();
+    }
+}
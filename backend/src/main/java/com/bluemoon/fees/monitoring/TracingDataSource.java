@@ -0,0 +1,158 @@
+package com.bluemoon.fees.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps connections so every statement execution becomes an SQL span carrying the statement
+ * text and the number of rows read or updated. Parameter values are never recorded. When no
+ * trace is active the proxies only forward calls.
+ */
+public class TracingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final int maxSqlLength;
+
+    public TracingDataSource(DataSource target, int maxSqlLength) {
+        super(target);
+        this.maxSqlLength = maxSqlLength;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection(), new ConnectionHandler());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection(username, password), new ConnectionHandler());
+    }
+
+    // The wrapper replaces the pool bean, so it must pass on the container's shutdown call
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, T target, TargetHandler handler) {
+        handler.target = target;
+        return type.cast(Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private String truncate(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        return sql.length() <= maxSqlLength ? sql : sql.substring(0, maxSqlLength) + "...";
+    }
+
+    private abstract static class TargetHandler implements InvocationHandler {
+        Object target;
+
+        Object forward(Method method, Object[] args) throws Throwable {
+            // Keep identity semantics on the proxy itself
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return args[0] != null && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) == this;
+            }
+            if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                return System.identityHashCode(this);
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private final class ConnectionHandler extends TargetHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = forward(method, args);
+            return switch (method.getName()) {
+                case "prepareCall" -> proxy(CallableStatement.class, (CallableStatement) result, new StatementHandler((String) args[0]));
+                case "prepareStatement" -> proxy(PreparedStatement.class, (PreparedStatement) result, new StatementHandler((String) args[0]));
+                case "createStatement" -> proxy(Statement.class, (Statement) result, new StatementHandler(null));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler extends TargetHandler {
+        private final String sql;
+        private int batched;
+
+        StatementHandler(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batched++;
+                return forward(method, args);
+            }
+            if (!name.startsWith("execute") || !Tracing.isActive()) {
+                return forward(method, args);
+            }
+
+            String statement = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            try (Span span = Tracing.start(SpanKind.SQL, name)) {
+                span.attribute("sql", truncate(statement));
+                if (batched > 0) {
+                    span.attribute("batchSize", batched);
+                    batched = 0;
+                }
+                Object result = forward(method, args);
+                if (result instanceof ResultSet resultSet) {
+                    span.attribute("rows", 0L);
+                    return proxy(ResultSet.class, resultSet, new ResultSetHandler(span));
+                }
+                if (result instanceof Integer count) {
+                    span.attribute("rows", (long) count);
+                } else if (result instanceof Long count) {
+                    span.attribute("rows", count);
+                } else if (result instanceof int[] counts) {
+                    long total = 0;
+                    for (int count : counts) {
+                        total += Math.max(0, count);
+                    }
+                    span.attribute("rows", total);
+                }
+                return result;
+            }
+        }
+    }
+
+    /** Counts rows as the caller reads them; reading happens after the SQL span has closed. */
+    private static final class ResultSetHandler extends TargetHandler {
+        private final Span span;
+
+        ResultSetHandler(Span span) {
+            this.span = span;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = forward(method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                span.increment("rows", 1);
+            }
+            return result;
+        }
+    }
+}
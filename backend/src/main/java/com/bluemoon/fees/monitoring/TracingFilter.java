@@ -0,0 +1,55 @@
+package com.bluemoon.fees.monitoring;
+
+import com.bluemoon.fees.config.TracingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a trace for each API request ahead of the security filters, and keeps it in the
+ * {@link SlowTraceBuffer} when the request took longer than the configured threshold.
+ */
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final TracingProperties properties;
+    private final SlowTraceBuffer buffer;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Instant startedAt = Instant.now();
+        Trace trace = Tracing.begin(request.getMethod() + " " + request.getRequestURI(), properties.getMaxSpansPerTrace());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Tracing.end();
+            Span root = trace.getRoot();
+            root.close();
+            if (root.getDurationNanos() >= TimeUnit.MILLISECONDS.toNanos(properties.getSlowThresholdMs())
+                    && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()) {
+                String path = request.getQueryString() != null
+                        ? request.getRequestURI() + "?" + request.getQueryString()
+                        : request.getRequestURI();
+                buffer.add(TraceRecord.of(trace, startedAt, request.getMethod(), path, response.getStatus()));
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.bluemoon.fees.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Jackson converter that records response serialization as a span. Lazy associations loaded
+ * while writing show up as SQL spans underneath it.
+ */
+public class TracingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TracingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!Tracing.isActive()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        try (Span span = Tracing.start(SpanKind.SERIALIZATION, "Jackson write")) {
+            span.attribute("type", object.getClass().getSimpleName());
+            if (object instanceof Collection<?> collection) {
+                span.attribute("elements", collection.size());
+            }
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.bluemoon.fees.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.bluemoon.fees.JwtValidation")
+@Label("JWT Validation")
+@Category({"BlueMoon", "Security"})
+@Description("Signature check and claims parse of a bearer or refresh token")
+@StackTrace(false)
+public class JwtValidationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("valid, expired or invalid")
+    public String outcome;
+
+    @Label("Token Type")
+    public String tokenType;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+}
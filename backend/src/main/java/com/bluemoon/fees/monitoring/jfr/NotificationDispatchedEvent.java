@@ -0,0 +1,25 @@
+package com.bluemoon.fees.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.bluemoon.fees.NotificationDispatched")
+@Label("Notification Dispatched")
+@Category({"BlueMoon", "Notifications"})
+@Description("A notification stored for a user")
+@StackTrace(false)
+public class NotificationDispatchedEvent extends Event {
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Entity Id")
+    public long entityId;
+
+    @Label("User Id")
+    public long userId;
+}
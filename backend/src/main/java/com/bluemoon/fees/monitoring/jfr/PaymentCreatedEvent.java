@@ -0,0 +1,31 @@
+package com.bluemoon.fees.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.bluemoon.fees.PaymentCreated")
+@Label("Payment Created")
+@Category({"BlueMoon", "Payments"})
+@Description("A payment recorded by PaymentService, including its admin notification")
+@StackTrace(false)
+public class PaymentCreatedEvent extends Event {
+
+    @Label("Payment Id")
+    public long paymentId;
+
+    @Label("Household Id")
+    public long householdId;
+
+    @Label("Fee Id")
+    public long feeId;
+
+    @Label("Amount")
+    public double amount;
+
+    @Label("Verified")
+    public boolean verified;
+}
@@ -0,0 +1,31 @@
+package com.bluemoon.fees.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.bluemoon.fees.StatisticsComputed")
+@Label("Statistics Computed")
+@Category({"BlueMoon", "Statistics"})
+@Description("A payment total computed over households, fees or a date range")
+@StackTrace(false)
+public class StatisticsComputedEvent extends Event {
+
+    @Label("Scope")
+    @Description("household, fee or dateRange")
+    public String scope;
+
+    @Label("Key")
+    @Description("Household or fee id, or the date range")
+    public String key;
+
+    @Label("Payments")
+    @Description("Payments included in the total")
+    public long payments;
+
+    @Label("Total")
+    public double total;
+}
@@ -0,0 +1,91 @@
+package com.bluemoon.fees.reminder;
+
+import com.bluemoon.fees.config.ReminderDispatchProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The due-soon and overdue message templates. A template's first line is
+ * {@code Subject: ...}; {@code {name}} placeholders in subject and body are replaced with the
+ * values passed to {@link #render}. Templates are split into parts once, so rendering one
+ * message per household is just concatenation.
+ */
+@Component
+public class ReminderTemplates {
+
+    /** A rendered message. */
+    public record Message(String subject, String body) {
+    }
+
+    private final Template dueSoon;
+    private final Template overdue;
+
+    public ReminderTemplates(ReminderDispatchProperties properties, ResourceLoader resourceLoader) {
+        this.dueSoon = load(resourceLoader.getResource(properties.getTemplates() + "due-soon.txt"));
+        this.overdue = load(resourceLoader.getResource(properties.getTemplates() + "overdue.txt"));
+    }
+
+    public Message render(boolean overdueReminder, Map<String, String> values) {
+        Template template = overdueReminder ? overdue : dueSoon;
+        return new Message(template.subject().render(values), template.body().render(values));
+    }
+
+    private record Template(Parts subject, Parts body) {
+    }
+
+    /** Alternating literal text and placeholder names; placeholders sit at odd indexes. */
+    private record Parts(List<String> parts) {
+
+        static Parts parse(String text) {
+            List<String> parts = new ArrayList<>();
+            int from = 0;
+            while (true) {
+                int open = text.indexOf('{', from);
+                int close = open < 0 ? -1 : text.indexOf('}', open);
+                if (close < 0) {
+                    parts.add(text.substring(from));
+                    return new Parts(parts);
+                }
+                parts.add(text.substring(from, open));
+                parts.add(text.substring(open + 1, close));
+                from = close + 1;
+            }
+        }
+
+        String render(Map<String, String> values) {
+            StringBuilder out = new StringBuilder(256);
+            for (int i = 0; i < parts.size(); i++) {
+                if (i % 2 == 0) {
+                    out.append(parts.get(i));
+                } else {
+                    out.append(values.getOrDefault(parts.get(i), ""));
+                }
+            }
+            return out.toString();
+        }
+    }
+
+    private static Template load(Resource resource) {
+        String text;
+        try {
+            text = resource.getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read reminder template " + resource, e);
+        }
+        int newline = text.indexOf('\n');
+        String firstLine = newline < 0 ? text : text.substring(0, newline);
+        if (!firstLine.startsWith("Subject:")) {
+            throw new IllegalStateException("Reminder template " + resource + " must start with a Subject: line");
+        }
+        String body = newline < 0 ? "" : text.substring(newline + 1);
+        return new Template(Parts.parse(firstLine.substring("Subject:".length()).trim()), Parts.parse(body));
+    }
+}
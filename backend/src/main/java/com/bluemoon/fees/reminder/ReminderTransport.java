@@ -0,0 +1,21 @@
+package com.bluemoon.fees.reminder;
+
+/**
+ * A channel reminders are delivered on. Every transport bean is picked up by the dispatcher;
+ * households without an address on a transport get no messages on it.
+ */
+public interface ReminderTransport {
+
+    /** Names the transport in the outbox, rate limits and metrics, e.g. {@code email}. */
+    String name();
+
+    /** The household's address on this transport, or null if it has none. */
+    String recipient(String email, String phoneNumber);
+
+    /**
+     * Delivers one message, blocking until the transport has accepted it.
+     *
+     * @throws ReminderTransportException when delivery failed
+     */
+    void send(String recipient, String subject, String body);
+}
@@ -0,0 +1,16 @@
+package com.bluemoon.fees.reminder;
+
+/** A failed delivery. Permanent failures, such as a malformed address, are not retried. */
+public class ReminderTransportException extends RuntimeException {
+
+    private final boolean permanent;
+
+    public ReminderTransportException(String message, boolean permanent, Throwable cause) {
+        super(message, cause);
+        this.permanent = permanent;
+    }
+
+    public boolean isPermanent() {
+        return permanent;
+    }
+}
@@ -0,0 +1,48 @@
+package com.bluemoon.fees.reminder;
+
+import com.bluemoon.fees.config.ReminderDispatchProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/** Plain-text reminder emails through the SMTP server configured under {@code spring.mail}. */
+@Component
+@ConditionalOnProperty("spring.mail.host")
+@RequiredArgsConstructor
+public class SmtpReminderTransport implements ReminderTransport {
+
+    private final JavaMailSender mailSender;
+    private final ReminderDispatchProperties properties;
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public String recipient(String email, String phoneNumber) {
+        return email != null && !email.isBlank() ? email.trim() : null;
+    }
+
+    @Override
+    public void send(String recipient, String subject, String body) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(properties.getEmailFrom());
+        message.setTo(recipient);
+        message.setSubject(subject);
+        message.setText(body);
+        try {
+            mailSender.send(message);
+        } catch (MailParseException | MailPreparationException e) {
+            throw new ReminderTransportException(e.getMessage(), true, e);
+        } catch (MailException e) {
+            // Connection and server errors; the server may well accept the message later
+            throw new ReminderTransportException(e.getMessage(), false, e);
+        }
+    }
+}
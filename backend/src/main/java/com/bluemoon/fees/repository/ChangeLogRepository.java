@@ -0,0 +1,140 @@
+package com.bluemoon.fees.repository;
+
+import com.bluemoon.fees.entity.ChangeSequence;
+import com.bluemoon.fees.entity.Tombstone;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC access to the change log and tombstones. Used from entity callbacks during flush,
+ * where going through the persistence context is not allowed; the statements run on the
+ * connection of the surrounding transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChangeLogRepository {
+
+    /** Lowest sequence still logged, and the number, highest sequence and latest time of rows of some types. */
+    public record LogState(long lowestSeq, long rows, long highestSeq, LocalDateTime lastChange) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Longer than any write transaction, plus clock skew between instances and replica lag
+    @Value("${sync.commit-window-seconds:60}")
+    private long commitWindowSeconds;
+
+    /**
+     * Allocates the next sequence by inserting into the change log. Holds no lock beyond the
+     * auto-increment, so sequences are unique and increasing but may commit out of order, and
+     * those of rolled back transactions leave gaps.
+     */
+    public long nextSeq(Tombstone.EntityType type) {
+        KeyHolder key = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO change_log (entity_type, created_at) VALUES (?, ?)", new String[] {"seq"});
+            ps.setString(1, type.name());
+            ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            return ps;
+        }, key);
+        return key.getKey().longValue();
+    }
+
+    /**
+     * Highest sequence taken longer than the commit window ago. Every transaction holding a
+     * sequence up to it has committed or rolled back by then, so no change at or below it can
+     * still appear; later sequences may still be filled in by transactions in flight.
+     */
+    public long safeSeq() {
+        Long seq = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM change_log WHERE created_at <= ?",
+                Long.class, Timestamp.valueOf(commitCutoff()));
+        return seq != null ? seq : 0;
+    }
+
+    public LogState state(Collection<Tombstone.EntityType> types) {
+        List<Object> args = new ArrayList<>(types.size());
+        for (Tombstone.EntityType type : types) {
+            args.add(type.name());
+        }
+        return jdbcTemplate.queryForObject("SELECT (SELECT COALESCE(MIN(seq), 0) FROM change_log), COUNT(*), "
+                        + "COALESCE(MAX(seq), 0), MAX(created_at) FROM change_log WHERE entity_type IN ("
+                        + String.join(", ", Collections.nCopies(types.size(), "?")) + ")",
+                (rs, i) -> {
+                    Timestamp lastChange = rs.getTimestamp(4);
+                    return new LogState(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                            lastChange != null ? lastChange.toLocalDateTime() : null);
+                },
+                args.toArray());
+    }
+
+    public long prunedThrough() {
+        List<Long> values = jdbcTemplate.queryForList(
+                "SELECT pruned_through FROM change_sequence WHERE id = ?", Long.class, ChangeSequence.ID);
+        return values.isEmpty() ? 0 : values.get(0);
+    }
+
+    public void insertTombstone(Tombstone.EntityType type, Long entityId, long seq) {
+        jdbcTemplate.update("INSERT INTO tombstones (entity_type, entity_id, change_seq, deleted_at) VALUES (?, ?, ?, ?)",
+                type.name(), entityId, seq, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public void markPruned(long seq) {
+        if (jdbcTemplate.update("UPDATE change_sequence SET pruned_through = GREATEST(pruned_through, ?) WHERE id = ?",
+                seq, ChangeSequence.ID) == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO change_sequence (id, pruned_through) VALUES (?, ?)", ChangeSequence.ID, seq);
+            } catch (DuplicateKeyException e) {
+                // Another instance created the row first
+                markPruned(seq);
+            }
+        }
+    }
+
+    /**
+     * Drops change log rows below the safe sequence. The row at it stays, which keeps the
+     * auto-increment from restarting below it and the safe sequence from going back.
+     */
+    public int pruneLog() {
+        long through = safeSeq();
+        return through == 0 ? 0 : jdbcTemplate.update("DELETE FROM change_log WHERE seq < ?", through);
+    }
+
+    /**
+     * Continues the sequence of a database whose rows were stamped before the change log
+     * existed, so clients holding one of those versions do not miss later changes. Does nothing
+     * once the log has any row.
+     */
+    public void continueLegacySequence() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_log", Long.class) > 0) {
+            return;
+        }
+        Long legacy = jdbcTemplate.queryForObject("SELECT GREATEST("
+                + "COALESCE((SELECT MAX(change_seq) FROM households), 0), "
+                + "COALESCE((SELECT MAX(change_seq) FROM fees), 0), "
+                + "COALESCE((SELECT MAX(change_seq) FROM payments), 0), "
+                + "COALESCE((SELECT MAX(change_seq) FROM tombstones), 0))", Long.class);
+        if (legacy != null && legacy > 0) {
+            // Those changes are all committed, so the row is dated to be safe at once
+            jdbcTemplate.update("INSERT IGNORE INTO change_log (seq, entity_type, created_at) VALUES (?, NULL, ?)",
+                    legacy, Timestamp.valueOf(commitCutoff()));
+        }
+    }
+
+    private LocalDateTime commitCutoff() {
+        return LocalDateTime.now().minusSeconds(commitWindowSeconds);
+    }
+}
@@ -0,0 +1,241 @@
+package com.bluemoon.fees.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Set-oriented JDBC access for charge generation and penalty accrual. Rows are read by id range
+ * and written with JDBC batches, so a chunk costs a few round trips however many rows it holds.
+ * With MySQL, add {@code rewriteBatchedStatements=true} to the JDBC URL so a batch is sent as
+ * multi-row inserts.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ChargeBatchRepository {
+
+    /** Active households of a chunk, as parallel arrays in id order. */
+    public record Households(long[] ids, int[] members) {
+        public int size() {
+            return ids.length;
+        }
+    }
+
+    /**
+     * Charges due for penalty accrual, as parallel arrays in id order. Days are epoch days;
+     * {@code throughDays[i]} is {@link #NOT_ACCRUED} when no penalty has been accrued yet.
+     */
+    public record Outstanding(long[] ids, double[] amounts, double[] paid, double[] penalties,
+                              long[] dueDays, long[] throughDays) {
+        public int size() {
+            return ids.length;
+        }
+    }
+
+    public static final long NOT_ACCRUED = Long.MIN_VALUE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> findActiveHouseholdIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM households WHERE active = TRUE ORDER BY id", Long.class);
+    }
+
+    public Households findActiveHouseholds(long fromId, long toId) {
+        List<long[]> rows = jdbcTemplate.query(
+                "SELECT id, num_members FROM households WHERE active = TRUE AND id BETWEEN ? AND ? ORDER BY id",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getInt(2)}, fromId, toId);
+        long[] ids = new long[rows.size()];
+        int[] members = new int[rows.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = rows.get(i)[0];
+            members[i] = (int) rows.get(i)[1];
+        }
+        return new Households(ids, members);
+    }
+
+    /** Households in the range that already have a charge for the fee and period. */
+    public Set<Long> findChargedHouseholdIds(long recurringFeeId, LocalDate periodStart, long fromId, long toId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT household_id FROM fee_charges WHERE recurring_fee_id = ? AND period_start = ? "
+                        + "AND household_id BETWEEN ? AND ?",
+                Long.class, recurringFeeId, Date.valueOf(periodStart), fromId, toId));
+    }
+
+    /** Charges of one recurring fee for one period, which all share a due date. */
+    public record ChargePeriod(long recurringFeeId, LocalDate periodStart, LocalDate dueDate) {
+    }
+
+    /** Periods with unsettled charges due on or after {@code dueFrom}, read over the penalty index. */
+    public List<ChargePeriod> findOpenChargePeriods(LocalDate dueFrom) {
+        return jdbcTemplate.query(
+                "SELECT recurring_fee_id, period_start, due_date FROM fee_charges "
+                        + "WHERE penalty_settled = FALSE AND due_date >= ? "
+                        + "GROUP BY recurring_fee_id, period_start, due_date",
+                (rs, i) -> new ChargePeriod(rs.getLong(1), rs.getDate(2).toLocalDate(), rs.getDate(3).toLocalDate()),
+                Date.valueOf(dueFrom));
+    }
+
+    public long countUnpaidCharges(long recurringFeeId, LocalDate periodStart) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM fee_charges WHERE recurring_fee_id = ? AND period_start = ? "
+                        + "AND amount_paid < amount",
+                Long.class, recurringFeeId, Date.valueOf(periodStart));
+    }
+
+    /** Inserts one charge per household; {@code amounts[i]} belongs to {@code householdIds[i]}. */
+    public void insertCharges(long recurringFeeId, LocalDate periodStart, LocalDate dueDate,
+                              long[] householdIds, double[] amounts, int count) {
+        Date period = Date.valueOf(periodStart);
+        Date due = Date.valueOf(dueDate);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("INSERT INTO fee_charges (recurring_fee_id, household_id, period_start, due_date, "
+                        + "amount, amount_paid, penalty, penalty_settled, created_at) VALUES (?, ?, ?, ?, ?, 0, 0, FALSE, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, recurringFeeId);
+                        ps.setLong(2, householdIds[i]);
+                        ps.setDate(3, period);
+                        ps.setDate(4, due);
+                        ps.setDouble(5, amounts[i]);
+                        ps.setTimestamp(6, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+    }
+
+    /**
+     * Streams the charges that belong to a mandatory fee, are due before {@code overdueBefore},
+     * are not settled and have not been accrued through {@code today}, in batches of up to
+     * {@code batchSize}. One query walks the penalty index, so settled charges are never read.
+     * With MySQL, add {@code useCursorFetch=true} to the JDBC URL so rows are fetched as they
+     * are consumed rather than all at once.
+     */
+    public void streamPenaltyCandidates(LocalDate overdueBefore, LocalDate today, int batchSize,
+                                        Consumer<Outstanding> consumer) {
+        OutstandingBuffer buffer = new OutstandingBuffer(batchSize, consumer);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "SELECT c.id, c.amount, c.amount_paid, c.penalty, c.due_date, c.penalty_through "
+                            + "FROM fee_charges c JOIN recurring_fees f ON f.id = c.recurring_fee_id "
+                            + "WHERE c.penalty_settled = FALSE AND c.due_date < ? "
+                            + "AND (c.penalty_through IS NULL OR c.penalty_through < ?) AND f.type = 'MANDATORY'");
+            ps.setDate(1, Date.valueOf(overdueBefore));
+            ps.setDate(2, Date.valueOf(today));
+            ps.setFetchSize(batchSize);
+            return ps;
+        }, buffer::add);
+        buffer.flush();
+    }
+
+    /** Collects streamed rows into {@link Outstanding} batches. */
+    private static final class OutstandingBuffer {
+        private final int capacity;
+        private final Consumer<Outstanding> consumer;
+        private long[] ids;
+        private double[] amounts;
+        private double[] paid;
+        private double[] penalties;
+        private long[] dueDays;
+        private long[] throughDays;
+        private int size;
+
+        OutstandingBuffer(int capacity, Consumer<Outstanding> consumer) {
+            this.capacity = capacity;
+            this.consumer = consumer;
+            allocate();
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            ids[size] = rs.getLong(1);
+            amounts[size] = rs.getDouble(2);
+            paid[size] = rs.getDouble(3);
+            penalties[size] = rs.getDouble(4);
+            dueDays[size] = rs.getDate(5).toLocalDate().toEpochDay();
+            Date through = rs.getDate(6);
+            throughDays[size] = through != null ? through.toLocalDate().toEpochDay() : NOT_ACCRUED;
+            if (++size == capacity) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (size == 0) {
+                return;
+            }
+            consumer.accept(new Outstanding(Arrays.copyOf(ids, size), Arrays.copyOf(amounts, size),
+                    Arrays.copyOf(paid, size), Arrays.copyOf(penalties, size), Arrays.copyOf(dueDays, size),
+                    Arrays.copyOf(throughDays, size)));
+            allocate();
+        }
+
+        private void allocate() {
+            ids = new long[capacity];
+            amounts = new double[capacity];
+            paid = new double[capacity];
+            penalties = new double[capacity];
+            dueDays = new long[capacity];
+            throughDays = new long[capacity];
+            size = 0;
+        }
+    }
+
+    /**
+     * Writes back the penalty state computed for {@code rows}. A row is only updated if
+     * its payment and penalty still hold the values that were read, so a payment recorded in the
+     * meantime is never overwritten; such rows stay unsettled and are picked up by the next run.
+     *
+     * @return the number of rows that changed concurrently and were left alone
+     */
+    public int updatePenalties(Outstanding rows, double[] penalties, long[] throughDays, boolean[] settled) {
+        int[] updated = jdbcTemplate.batchUpdate("UPDATE fee_charges SET penalty = ?, penalty_through = ?, "
+                        + "penalty_settled = ? WHERE id = ? AND amount_paid = ? AND penalty = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setDouble(1, penalties[i]);
+                        if (throughDays[i] == NOT_ACCRUED) {
+                            ps.setNull(2, Types.DATE);
+                        } else {
+                            ps.setDate(2, Date.valueOf(LocalDate.ofEpochDay(throughDays[i])));
+                        }
+                        ps.setBoolean(3, settled[i]);
+                        ps.setLong(4, rows.ids()[i]);
+                        ps.setDouble(5, rows.paid()[i]);
+                        ps.setDouble(6, rows.penalties()[i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                });
+        int conflicts = 0;
+        for (int result : updated) {
+            // Drivers that rewrite batches report SUCCESS_NO_INFO rather than row counts
+            if (result == 0) {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bluemoon.fees.repository;
+
+import com.bluemoon.fees.entity.FeeCharge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface FeeChargeRepository extends JpaRepository<FeeCharge, Long> {
+    List<FeeCharge> findByHouseholdIdOrderByPeriodStartAscIdAsc(Long householdId);
+    List<FeeCharge> findByHouseholdIdAndPeriodStartBetweenOrderByPeriodStartAscIdAsc(Long householdId, LocalDate from, LocalDate to);
+    List<FeeCharge> findByRecurringFeeIdAndPeriodStart(Long recurringFeeId, LocalDate periodStart);
+
+    // Only touches the payment, so a penalty written by a concurrent accrual batch is kept
+    @Modifying
+    @Query("UPDATE FeeCharge c SET c.amountPaid = :amountPaid, c.penaltySettled = false WHERE c.id = :id")
+    int updateAmountPaid(Long id, Double amountPaid);
+}
@@ -0,0 +1,18 @@
+package com.bluemoon.fees.repository;
+
+import com.bluemoon.fees.entity.FeePrice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FeePriceRepository extends JpaRepository<FeePrice, Long> {
+    List<FeePrice> findByFeeIdOrderByEffectiveFromAsc(Long feeId);
+
+    @Modifying
+    @Query("DELETE FROM FeePrice p WHERE p.feeId = :feeId")
+    int deleteByFeeId(Long feeId);
+}
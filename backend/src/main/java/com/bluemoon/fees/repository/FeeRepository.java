@@ -15,4 +15,5 @@ public interface FeeRepository extends JpaRepository<Fee, Long> {
     List<Fee> findByTypeAndActiveTrue(String type);
     List<Fee> findByDueDateBetweenAndActiveTrue(LocalDate startDate, LocalDate endDate);
     List<Fee> findByDueDateBeforeAndActiveTrue(LocalDate date);
+    List<Fee> findByChangeSeqGreaterThan(Long since);
 } 
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.bluemoon.fees.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Whitelist of the fields a list endpoint can return on request ({@code fields=}), each mapped
+ * to the JPQL path it is selected from. Fields always come back in whitelist order with
+ * {@code id} first, so every request for the same set shares one cached query.
+ */
+public final class FieldProjection {
+
+    public static final String ID = "id";
+
+    private final String resource;
+    private final String entity;
+    private final String alias;
+    private final Map<String, String> paths;
+
+    private FieldProjection(String resource, String entity, String alias, Map<String, String> paths) {
+        this.resource = resource;
+        this.entity = entity;
+        this.alias = alias;
+        this.paths = paths;
+    }
+
+    public static Builder of(String resource, String entity, String alias) {
+        return new Builder(resource, entity, alias);
+    }
+
+    /** Parses a comma-separated {@code fields} parameter. Unknown names are rejected. */
+    public List<String> resolve(String fields) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!paths.containsKey(name)) {
+                throw new RuntimeException("Unknown field '" + name + "' for " + resource
+                        + "; allowed fields: " + String.join(", ", paths.keySet()));
+            }
+            requested.add(name);
+        }
+        List<String> resolved = new ArrayList<>();
+        for (String name : paths.keySet()) {
+            if (name.equals(ID) || requested.contains(name)) {
+                resolved.add(name);
+            }
+        }
+        return resolved;
+    }
+
+    String resource() {
+        return resource;
+    }
+
+    String jpql(List<String> fields, String where) {
+        StringBuilder jpql = new StringBuilder("SELECT ");
+        for (int i = 0; i < fields.size(); i++) {
+            jpql.append(i == 0 ? "" : ", ").append(paths.get(fields.get(i)));
+        }
+        jpql.append(" FROM ").append(entity).append(' ').append(alias);
+        if (where != null) {
+            jpql.append(" WHERE ").append(where);
+        }
+        return jpql.append(" ORDER BY ").append(alias).append('.').append(ID).toString();
+    }
+
+    public static final class Builder {
+        private final String resource;
+        private final String entity;
+        private final String alias;
+        private final Map<String, String> paths = new LinkedHashMap<>();
+
+        private Builder(String resource, String entity, String alias) {
+            this.resource = resource;
+            this.entity = entity;
+            this.alias = alias;
+            paths.put(ID, alias + "." + ID);
+        }
+
+        /** Fields stored on the entity itself, selected under their own name. */
+        public Builder fields(String... names) {
+            Arrays.stream(names).forEach(name -> paths.put(name, alias + "." + name));
+            return this;
+        }
+
+        /** Field taken from another path, typically an association. */
+        public Builder field(String name, String path) {
+            paths.put(name, alias + "." + path);
+            return this;
+        }
+
+        public FieldProjection build() {
+            return new FieldProjection(resource, entity, alias, Collections.unmodifiableMap(new LinkedHashMap<>(paths)));
+        }
+    }
+}
@@ -13,4 +13,5 @@ public interface HouseholdRepository extends JpaRepository<Household, Long> {
     Optional<Household> findByIdAndActiveTrue(Long id);
     List<Household> findByOwnerNameContainingIgnoreCase(String ownerName);
     List<Household> findByAddressContainingIgnoreCase(String address);
+    List<Household> findByChangeSeqGreaterThan(Long since);
 } 
\ No newline at end of file
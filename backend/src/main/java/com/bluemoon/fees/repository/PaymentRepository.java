@@ -1,5 +1,7 @@
 package com.bluemoon.fees.repository;
 
+import com.bluemoon.fees.dto.PaidByDate;
+import com.bluemoon.fees.dto.PaymentTotals;
 import com.bluemoon.fees.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -23,4 +25,28 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     @Query("SELECT p FROM Payment p JOIN FETCH p.household JOIN FETCH p.fee WHERE p.id = :id")
     Optional<Payment> findByIdWithHouseholdAndFee(Long id);
+
+    @Query("SELECT p FROM Payment p JOIN FETCH p.household JOIN FETCH p.fee WHERE p.changeSeq > :since")
+    List<Payment> findChangedSinceWithHouseholdAndFee(Long since);
+
+    @Query(TOTALS + "WHERE p.household.id = :householdId")
+    PaymentTotals totalsByHouseholdId(Long householdId);
+
+    @Query(TOTALS + "WHERE p.fee.id = :feeId")
+    PaymentTotals totalsByFeeId(Long feeId);
+
+    @Query(TOTALS + "WHERE p.paymentDate BETWEEN :startDate AND :endDate")
+    PaymentTotals totalsByPaymentDateBetween(LocalDate startDate, LocalDate endDate);
+
+    @Query(PAID_BY_DATE + "WHERE p.household.id = :householdId GROUP BY p.fee.id, p.paymentDate")
+    List<PaidByDate> paidByDateForHousehold(Long householdId);
+
+    @Query(PAID_BY_DATE + "WHERE p.fee.id = :feeId GROUP BY p.fee.id, p.paymentDate")
+    List<PaidByDate> paidByDateForFee(Long feeId);
+
+    String TOTALS = "SELECT new com.bluemoon.fees.dto.PaymentTotals(COUNT(p), COALESCE(SUM(p.amount), 0.0), "
+            + "COALESCE(SUM(CASE WHEN p.verified = true THEN 1 ELSE 0 END), 0)) FROM Payment p ";
+
+    String PAID_BY_DATE = "SELECT new com.bluemoon.fees.dto.PaidByDate(p.fee.id, p.paymentDate, COUNT(p), "
+            + "COALESCE(SUM(p.amountPaid), 0.0)) FROM Payment p ";
 } 
\ No newline at end of file
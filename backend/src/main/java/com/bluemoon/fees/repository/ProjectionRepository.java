@@ -0,0 +1,47 @@
+package com.bluemoon.fees.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs sparse-fieldset queries: only the requested columns are selected, and each row comes
+ * back as a field-to-value map ready for JSON. The JPQL for each field set is built once and
+ * cached; Hibernate's query plan cache then reuses the parsed query for the same string.
+ */
+@Repository
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Bounded by the whitelists: keys are subsets of a projection's fields
+    private final Map<String, String> queries = new ConcurrentHashMap<>();
+
+    public List<Map<String, Object>> find(FieldProjection projection, List<String> fields) {
+        return find(projection, fields, null, Map.of());
+    }
+
+    public List<Map<String, Object>> find(FieldProjection projection, List<String> fields,
+                                          String where, Map<String, ?> parameters) {
+        String jpql = queries.computeIfAbsent(projection.resource() + '|' + where + '|' + String.join(",", fields),
+                key -> projection.jpql(fields, where));
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        parameters.forEach(query::setParameter);
+
+        return query.getResultList().stream().map(tuple -> {
+            Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+            for (int i = 0; i < fields.size(); i++) {
+                row.put(fields.get(i), tuple.get(i));
+            }
+            return row;
+        }).toList();
+    }
+}
@@ -0,0 +1,12 @@
+package com.bluemoon.fees.repository;
+
+import com.bluemoon.fees.entity.RecurringFee;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RecurringFeeRepository extends JpaRepository<RecurringFee, Long> {
+    List<RecurringFee> findByActiveTrue();
+}
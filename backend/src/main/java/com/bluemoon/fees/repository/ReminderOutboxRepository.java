@@ -0,0 +1,181 @@
+package com.bluemoon.fees.repository;
+
+import com.bluemoon.fees.entity.ReminderMessage;
+import com.bluemoon.fees.entity.ReminderMessage.Status;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JDBC access to the reminder outbox. Messages are inserted and claimed in batches. A claim
+ * stamps its rows with a fresh token in a single statement and every later update checks it, so
+ * neither the claim nor a dispatcher whose claim has lapsed and been taken over depends on batch
+ * row counts, which drivers that rewrite batches do not report.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReminderOutboxRepository {
+
+    /** A household with an unpaid charge for a period, and what it still owes. */
+    public record Recipient(long householdId, String ownerName, String email, String phoneNumber,
+                            LocalDate dueDate, double outstanding, double penalty) {
+    }
+
+    /** How a claimed message ended up after a delivery attempt. */
+    public record Outcome(long id, String claimToken, Status status, LocalDateTime nextAttemptAt, String error) {
+    }
+
+    // Rows per INSERT statement, well below the placeholder limit of MySQL
+    private static final int INSERT_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Active households whose charge for the period is not paid in full, in id order. */
+    public List<Recipient> findRecipients(long recurringFeeId, LocalDate periodStart) {
+        return jdbcTemplate.query(
+                "SELECT h.id, h.owner_name, h.email, h.phone_number, c.due_date, c.amount - c.amount_paid, c.penalty "
+                        + "FROM fee_charges c JOIN households h ON h.id = c.household_id "
+                        + "WHERE c.recurring_fee_id = ? AND c.period_start = ? AND c.amount_paid < c.amount "
+                        + "AND h.active = TRUE ORDER BY h.id",
+                (rs, i) -> new Recipient(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getDate(5).toLocalDate(), rs.getDouble(6), rs.getDouble(7)),
+                recurringFeeId, Date.valueOf(periodStart));
+    }
+
+    /** Dedup keys starting with {@code prefix}, read as a range over the unique index. */
+    public Set<String> findDedupKeys(String prefix) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT dedup_key FROM reminder_outbox WHERE dedup_key LIKE ?", String.class, prefix + "%"));
+    }
+
+    /**
+     * Inserts the messages as pending, skipping those whose dedup key is already taken, also by a
+     * concurrent caller, and returns how many were inserted. Rows go out as multi-row
+     * {@code INSERT IGNORE} statements, whose single update count is exact whatever the driver
+     * does with batches.
+     */
+    public int insertPending(List<ReminderMessage> messages) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int inserted = 0;
+        for (int from = 0; from < messages.size(); from += INSERT_CHUNK_SIZE) {
+            List<ReminderMessage> chunk = messages.subList(from, Math.min(from + INSERT_CHUNK_SIZE, messages.size()));
+            List<Object> args = new ArrayList<>(chunk.size() * 8);
+            for (ReminderMessage message : chunk) {
+                args.addAll(List.of(message.getDedupKey(), message.getHouseholdId(), message.getTransport(),
+                        message.getRecipient(), message.getSubject(), message.getBody(), now, now));
+            }
+            inserted += jdbcTemplate.update("INSERT IGNORE INTO reminder_outbox (dedup_key, household_id, transport, "
+                            + "recipient, subject, body, status, attempts, next_attempt_at, created_at) VALUES "
+                            + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)")),
+                    args.toArray());
+        }
+        return inserted;
+    }
+
+    /**
+     * Claims up to {@code limit} messages on the given transports that are pending and due, or
+     * whose earlier claim lapsed. Claimed messages are marked sending until {@code claimUntil}.
+     * Candidates claimed by another dispatcher in the meantime no longer match the update, since
+     * their claim pushed {@code next_attempt_at} into the future, and are left out.
+     */
+    public List<ReminderMessage> claim(Collection<String> transports, int limit, LocalDateTime claimUntil) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(transports);
+        args.add(0, now);
+        args.add(limit);
+        List<Long> candidates = jdbcTemplate.queryForList(
+                "SELECT id FROM reminder_outbox WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= ? "
+                        + "AND transport IN (" + placeholders(transports.size()) + ") ORDER BY next_attempt_at, id LIMIT ?",
+                Long.class, args.toArray());
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        String token = UUID.randomUUID().toString();
+        String ids = placeholders(candidates.size());
+        List<Object> updateArgs = new ArrayList<>(List.of(Timestamp.valueOf(claimUntil), token));
+        updateArgs.addAll(candidates);
+        updateArgs.add(now);
+        int claimed = jdbcTemplate.update("UPDATE reminder_outbox SET status = 'SENDING', attempts = attempts + 1, "
+                        + "next_attempt_at = ?, claim_token = ? WHERE id IN (" + ids + ") "
+                        + "AND status IN ('PENDING', 'SENDING') AND next_attempt_at <= ?",
+                updateArgs.toArray());
+        if (claimed == 0) {
+            return List.of();
+        }
+        List<Object> selectArgs = new ArrayList<>(candidates);
+        selectArgs.add(token);
+        return jdbcTemplate.query(
+                "SELECT id, household_id, transport, recipient, subject, body, attempts, claim_token FROM reminder_outbox "
+                        + "WHERE id IN (" + ids + ") AND claim_token = ? ORDER BY id",
+                (rs, i) -> ReminderMessage.builder()
+                        .id(rs.getLong(1))
+                        .householdId(rs.getLong(2))
+                        .transport(rs.getString(3))
+                        .recipient(rs.getString(4))
+                        .subject(rs.getString(5))
+                        .body(rs.getString(6))
+                        .attempts(rs.getInt(7))
+                        .claimToken(rs.getString(8))
+                        .status(Status.SENDING)
+                        .build(),
+                selectArgs.toArray());
+    }
+
+    /** Records the outcomes of claimed messages; outcomes of claims taken over since are dropped. */
+    public void complete(List<Outcome> outcomes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("UPDATE reminder_outbox SET status = ?, next_attempt_at = ?, last_error = ?, "
+                        + "sent_at = ? WHERE id = ? AND claim_token = ? AND status = 'SENDING'",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Outcome outcome = outcomes.get(i);
+                        boolean sent = outcome.status() == Status.SENT;
+                        ps.setString(1, outcome.status().name());
+                        ps.setTimestamp(2, outcome.nextAttemptAt() != null ? Timestamp.valueOf(outcome.nextAttemptAt()) : now);
+                        ps.setString(3, outcome.error());
+                        ps.setTimestamp(4, sent ? now : null);
+                        ps.setLong(5, outcome.id());
+                        ps.setString(6, outcome.claimToken());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return outcomes.size();
+                    }
+                });
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    public Map<Status, Long> countByStatus() {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            counts.put(status, 0L);
+        }
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "SELECT status, COUNT(*) AS n FROM reminder_outbox GROUP BY status")) {
+            counts.put(Status.valueOf((String) row.get("status")), ((Number) row.get("n")).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,22 @@
+package com.bluemoon.fees.repository;
+
+import com.bluemoon.fees.entity.Tombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    List<Tombstone> findByChangeSeqGreaterThan(Long since);
+
+    @Query("SELECT MAX(t.changeSeq) FROM Tombstone t WHERE t.deletedAt < :before")
+    Long findMaxChangeSeqDeletedBefore(LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.changeSeq <= :seq")
+    int deleteThrough(Long seq);
+}
@@ -1,6 +1,10 @@
 package com.bluemoon.fees.security;
 
+import com.bluemoon.fees.monitoring.Span;
+import com.bluemoon.fees.monitoring.SpanKind;
+import com.bluemoon.fees.monitoring.Tracing;
 import com.bluemoon.fees.service.UserService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,18 +12,23 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserService userService;
+    private final TokenVersionRegistry tokenVersions;
+    private final TokenRevocationService tokenRevocation;
 
     @Override
     protected void doFilterInternal(
@@ -28,21 +37,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String username;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try (Span span = Tracing.start(SpanKind.FILTER, "JwtAuthenticationFilter")) {
+                authenticate(request, authHeader.substring(7), span);
+            } catch (JwtException e) {
+                // Carry on unauthenticated and let the URL rules decide, so a stale token never
+                // blocks login, refresh or logout
+                SecurityContextHolder.clearContext();
+            }
         }
+        filterChain.doFilter(request, response);
+    }
 
-        jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
+    private void authenticate(HttpServletRequest request, String bearerToken, Span span) {
+        VerifiedToken token = jwtService.verify(bearerToken);
+        final String username = token.getUsername();
+        span.attribute("user", username);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
-            
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        // Refresh tokens are only accepted by /api/auth/refresh, never as bearer credentials
+        if (username != null && !token.isRefreshToken() && !tokenRevocation.isRevoked(token)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = jwtService.isStatelessEnabled() && token.hasIdentityClaims()
+                    ? userFromClaims(token)
+                    : userFromDatabase(token);
+
+            if (userDetails != null && jwtService.isTokenValid(token, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     userDetails,
                     null,
@@ -52,6 +72,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
-        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Builds the principal from signed claims alone. The only state consulted is the in-memory
+     * token version, which lets role, status and password changes revoke tokens immediately.
+     */
+    private UserDetails userFromClaims(VerifiedToken token) {
+        if (!token.isUserEnabled() || !tokenVersions.isCurrent(token.getUserId(), token.getTokenVersion())) {
+            return null;
+        }
+        return new User(
+                token.getUsername(),
+                "",
+                List.of(new SimpleGrantedAuthority("ROLE_" + token.getRole()))
+        );
+    }
+
+    /**
+     * Loads the principal from the database, for tokens without identity claims or when
+     * claims-only mode is off. The token version is checked all the same, so a token revoked
+     * by a role, status or password change is refused on this path too.
+     */
+    private UserDetails userFromDatabase(VerifiedToken token) {
+        com.bluemoon.fees.entity.User user = userService.findByUsername(token.getUsername()).orElse(null);
+        if (user == null || !tokenVersions.isCurrent(user.getId(), token.getTokenVersion())) {
+            return null;
+        }
+        return User.withUsername(user.getUsername())
+                .password(user.getPassword())
+                .disabled(!user.isEnabled())
+                .authorities(user.getAuthorities())
+                .build();
     }
 } 
\ No newline at end of file
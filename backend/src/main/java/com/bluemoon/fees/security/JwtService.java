@@ -1,35 +1,84 @@
 package com.bluemoon.fees.security;
 
+import com.bluemoon.fees.entity.User;
+import com.bluemoon.fees.monitoring.jfr.JwtValidationEvent;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_ENABLED = "enabled";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
+    @Value("${jwt.access-expiration:900000}")
+    private long accessExpiration;
+
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long refreshExpiration;
+
+    @Value("${jwt.validation-cache.enabled:false}")
+    private boolean validationCacheEnabled;
+
+    @Value("${jwt.validation-cache.max-entries:10000}")
+    private int validationCacheMaxEntries;
+
+    // Built once; both are immutable and safe to share between request threads
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Verified tokens keyed by SHA-256 digest of the compact token, kept until the token expires
+    private final Map<String, VerifiedToken> validationCache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token).getClaims());
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -37,38 +86,118 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        return buildToken(extraClaims, userDetails.getUsername(), jwtExpiration);
+    }
+
+    /**
+     * Issues an access token carrying everything the claims-only mode needs to authenticate
+     * a request without loading the user. Short-lived when that mode is enabled.
+     */
+    public String generateAccessToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_ACCESS);
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole());
+        claims.put(CLAIM_ENABLED, user.isEnabled());
+        claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        return buildToken(claims, user.getUsername(), statelessEnabled ? accessExpiration : jwtExpiration);
+    }
+
+    public String generateRefreshToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH);
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        return buildToken(claims, user.getUsername(), refreshExpiration);
+    }
+
+    public boolean isStatelessEnabled() {
+        return statelessEnabled;
+    }
+
+    private String buildToken(Map<String, Object> claims, String subject, long expiration) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(subject)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    /**
+     * Parses and verifies the token exactly once. Throws {@link JwtException} when the
+     * signature is invalid or the token has expired.
+     */
+    public VerifiedToken verify(String token) {
+        JwtValidationEvent event = new JwtValidationEvent();
+        event.begin();
+        try {
+            VerifiedToken verified = validationCacheEnabled ? verifyCached(token, event) : parse(token);
+            event.outcome = "valid";
+            event.tokenType = verified.getType();
+            return verified;
+        } catch (ExpiredJwtException e) {
+            event.outcome = "expired";
+            throw e;
+        } catch (JwtException e) {
+            event.outcome = "invalid";
+            throw e;
+        } finally {
+            event.commit();
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private VerifiedToken verifyCached(String token, JwtValidationEvent event) {
+        String digest = digest(token);
+        VerifiedToken cached = validationCache.get(digest);
+        if (cached != null && cached.getToken().equals(token)) {
+            if (!cached.isExpired()) {
+                event.cacheHit = true;
+                return cached;
+            }
+            validationCache.remove(digest, cached);
+        }
+
+        VerifiedToken verified = parse(token);
+        cache(digest, verified);
+        return verified;
+    }
+
+    private VerifiedToken parse(String token) {
+        return new VerifiedToken(token, parser.parseClaimsJws(token).getBody());
+    }
+
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.getUsername().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private void cache(String digest, VerifiedToken verified) {
+        if (verified.getExpiration() == null) {
+            return;
+        }
+        if (validationCache.size() >= validationCacheMaxEntries) {
+            validationCache.values().removeIf(VerifiedToken::isExpired);
+            if (validationCache.size() >= validationCacheMaxEntries) {
+                return;
+            }
+        }
+        validationCache.put(digest, verified);
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,76 @@
+package com.bluemoon.fees.security;
+
+import com.bluemoon.fees.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fixed-window limit on login attempts per username. Checked before the password is hashed,
+ * so a script hammering one account costs a map lookup rather than a BCrypt round.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    @Value("${security.login-throttle.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${security.login-throttle.window-seconds:60}")
+    private long windowSeconds;
+
+    @Value("${security.login-throttle.max-tracked-usernames:10000}")
+    private int maxTrackedUsernames;
+
+    // Insertion-ordered by window start. Past the cap the oldest window is dropped, which at worst
+    // restarts the count of a username whose window began before every other tracked one; failing
+    // closed instead would let a spray of made-up usernames lock everyone out
+    private final Map<String, Window> windows = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            return size() > maxTrackedUsernames;
+        }
+    };
+
+    /**
+     * Counts an attempt for the username, throwing {@link TooManyRequestsException} when the
+     * current window is already exhausted.
+     */
+    public void acquire(String username) {
+        long now = System.currentTimeMillis();
+        long windowMillis = windowSeconds * 1000;
+        String key = username == null ? "" : username.toLowerCase(Locale.ROOT);
+
+        Window window;
+        synchronized (windows) {
+            Window current = windows.get(key);
+            if (current == null || now - current.start >= windowMillis) {
+                // Re-inserted so that a restarted window moves to the young end
+                windows.remove(key);
+                window = new Window(now, 1);
+            } else {
+                window = new Window(current.start, current.attempts + 1);
+            }
+            windows.put(key, window);
+        }
+
+        if (window.attempts > maxAttempts) {
+            long retryAfter = Math.max(1, (window.start + windowMillis - now) / 1000);
+            throw new TooManyRequestsException("Too many login attempts, please try again later", retryAfter);
+        }
+    }
+
+    /** Clears the count after a successful login. */
+    public void reset(String username) {
+        if (username != null) {
+            synchronized (windows) {
+                windows.remove(username.toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    private record Window(long start, int attempts) {
+    }
+}
@@ -0,0 +1,235 @@
+package com.bluemoon.fees.security;
+
+import com.bluemoon.fees.config.RateLimitProperties;
+import com.bluemoon.fees.monitoring.Span;
+import com.bluemoon.fees.monitoring.SpanKind;
+import com.bluemoon.fees.monitoring.Tracing;
+import com.bluemoon.fees.util.TokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-principal, per-route token-bucket limiter. Runs after {@link JwtAuthenticationFilter} so
+ * authenticated requests are keyed by username; anonymous requests fall back to the client
+ * address. Rejected requests get 429 with a {@code Retry-After} header.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final String DEFAULT_ROUTE = "*";
+
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final List<CompiledRoute> routes;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+    private final LongAdder overflows = new LongAdder();
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        // A cost above the bucket size could never be paid, so the route would always be refused
+        if (properties.getDefaultCost() > properties.getCapacity()) {
+            throw new IllegalStateException("rate-limit.default-cost " + properties.getDefaultCost()
+                    + " exceeds rate-limit.capacity " + properties.getCapacity());
+        }
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (route.getCost() > properties.getCapacity()) {
+                throw new IllegalStateException("rate-limit cost " + route.getCost() + " of " + route.getPattern()
+                        + " exceeds rate-limit.capacity " + properties.getCapacity());
+            }
+        }
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new CompiledRoute(
+                        route.getMethod(),
+                        PathPatternParser.defaultInstance.parse(route.getPattern()),
+                        route.getCost(),
+                        (route.getMethod() != null ? route.getMethod() + " " : "") + route.getPattern()))
+                .toList();
+        // Pre-register every route so the rejection counters exist before the first rejection
+        rejections.put(DEFAULT_ROUTE, new LongAdder());
+        routes.forEach(route -> rejections.put(route.id, new LongAdder()));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos;
+        try (Span span = Tracing.start(SpanKind.FILTER, "RateLimitFilter")) {
+            waitNanos = consume(request, request.getMethod(),
+                    request.getRequestURI().substring(request.getContextPath().length()), span);
+        }
+        if (waitNanos > 0) {
+            reject(response, retryAfterSeconds(waitNanos));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Charges a request that does not pass through this filter, such as a batch sub-request, to
+     * the caller's bucket for its route, as if it had been sent on its own.
+     *
+     * @return 0 when the request may run, otherwise the nanoseconds to wait before retrying
+     */
+    public long charge(HttpServletRequest request, String method, String path) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        try (Span span = Tracing.start(SpanKind.FILTER, "RateLimitFilter")) {
+            return consume(request, method, path, span);
+        }
+    }
+
+    /** Whole seconds to put in {@code Retry-After} for a wait of {@code waitNanos}. */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    /** Rejected request counts per route since startup. */
+    public Map<String, Long> getRejectionsByRoute() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        rejections.forEach((route, count) -> {
+            long sum = count.sum();
+            if (sum > 0) {
+                snapshot.put(route, sum);
+            }
+        });
+        return snapshot;
+    }
+
+    public int getActiveBuckets() {
+        return buckets.size();
+    }
+
+    /** Requests let through unmetered because the bucket table was full. */
+    public long getOverflows() {
+        return overflows.sum();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        rejections.forEach((route, count) -> FunctionCounter.builder("bluemoon.rate_limit.rejections", count, LongAdder::sum)
+                .description("Requests rejected by the rate limiter")
+                .tag("route", route)
+                .register(registry));
+        FunctionCounter.builder("bluemoon.rate_limit.overflows", overflows, LongAdder::sum)
+                .description("Requests let through unmetered because the bucket table was full")
+                .register(registry);
+        Gauge.builder("bluemoon.rate_limit.buckets", buckets, Map::size)
+                .description("Active rate limit buckets")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long idleNanos = TimeUnit.SECONDS.toNanos(properties.getIdleEvictionSeconds());
+        buckets.values().removeIf(bucket -> bucket.isIdle(idleNanos));
+    }
+
+    private TokenBucket bucketFor(String key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.getMaxBuckets()) {
+            evictIdleBuckets();
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                // Fail open rather than refuse service when the table is saturated
+                overflows.increment();
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(properties.getCapacity(), properties.getRefillPerSecond()));
+    }
+
+    private long consume(HttpServletRequest request, String method, String path, Span span) {
+        CompiledRoute route = match(method, path);
+        String routeId = route != null ? route.id : DEFAULT_ROUTE;
+        int cost = route != null ? route.cost : properties.getDefaultCost();
+
+        TokenBucket bucket = bucketFor(principal(request) + " " + routeId);
+        long waitNanos = bucket != null ? bucket.tryConsume(cost) : 0;
+        span.attribute("route", routeId);
+        if (waitNanos > 0) {
+            rejections.get(routeId).increment();
+        }
+        return waitNanos;
+    }
+
+    private CompiledRoute match(String method, String path) {
+        if (routes.isEmpty()) {
+            return null;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (CompiledRoute route : routes) {
+            if ((route.method == null || route.method.equalsIgnoreCase(method)) && route.pattern.matches(container)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String principal(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", "Rate limit exceeded, please retry later");
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private record CompiledRoute(String method, PathPattern pattern, int cost, String id) {
+    }
+}
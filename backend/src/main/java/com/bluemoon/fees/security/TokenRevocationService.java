@@ -0,0 +1,134 @@
+package com.bluemoon.fees.security;
+
+import com.bluemoon.fees.datasource.ReplicaRoutingDataSource;
+import com.bluemoon.fees.entity.RevokedToken;
+import com.bluemoon.fees.repository.RevokedTokenRepository;
+import com.bluemoon.fees.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Denylist of revoked token ids (jti). Rows are persisted so revocations survive restarts;
+ * lookups go through a Bloom filter first, so the common case of a token that was never
+ * revoked is answered without touching the exact set or the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-entries:100000}")
+    private long expectedEntries;
+
+    @Value("${jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    // Exact set of revoked jti -> expiry (epoch millis), consulted only on a Bloom filter hit
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync;
+
+    @PostConstruct
+    void loadDenylist() {
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedToken token : ReplicaRoutingDataSource.onPrimary(() -> revokedTokenRepository.findByExpiresAtAfter(now))) {
+            revoked.put(token.getId(), toEpochMillis(token.getExpiresAt()));
+        }
+        rebuildFilter();
+        lastSync = now;
+        log.info("Loaded {} revoked tokens into the denylist", revoked.size());
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        String jti = token.getId();
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    @Transactional
+    public void revoke(VerifiedToken token) {
+        String jti = token.getId();
+        if (jti == null || token.isExpired() || revoked.containsKey(jti)) {
+            return;
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(token.getExpiration().toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(RevokedToken.builder()
+                .id(jti)
+                .expiresAt(expiresAt)
+                .revokedAt(LocalDateTime.now())
+                .build());
+        // Visible to this node at once; a rolled-back insert only makes the token unusable early
+        add(jti, token.getExpiration().getTime());
+    }
+
+    /** Picks up revocations written by other instances since the last sync. */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}",
+            initialDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+    public void syncFromDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+        // Read the primary: replica lag beyond the overlap window would skip revocations for good
+        List<RevokedToken> recent = ReplicaRoutingDataSource.onPrimary(() ->
+                revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(lastSync.minusSeconds(5), now));
+        for (RevokedToken token : recent) {
+            if (!revoked.containsKey(token.getId())) {
+                add(token.getId(), toEpochMillis(token.getExpiresAt()));
+            }
+        }
+        lastSync = now;
+    }
+
+    /** Drops entries whose tokens have expired on their own and rebuilds the filter without them. */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:3600000}",
+            initialDelayString = "${jwt.revocation.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        long nowMillis = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        rebuildFilter();
+        log.debug("Purged {} expired revoked tokens, {} remain", deleted, revoked.size());
+    }
+
+    private void add(String jti, long expiresAtMillis) {
+        writeLock.lock();
+        try {
+            revoked.put(jti, expiresAtMillis);
+            filter.put(jti);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rebuildFilter() {
+        writeLock.lock();
+        try {
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2L), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,59 @@
+package com.bluemoon.fees.security;
+
+import com.bluemoon.fees.datasource.ReplicaRoutingDataSource;
+import com.bluemoon.fees.entity.User;
+import com.bluemoon.fees.repository.UserRepository;
+import com.bluemoon.fees.util.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of each user's current token version. Claims-only authentication compares
+ * the version embedded in a token against this registry, so revoking a user's tokens is a
+ * matter of bumping the version rather than tracking individual tokens.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+
+    /** Returned for users that no longer exist; never matches a token's version. */
+    public static final int UNKNOWN_USER = -1;
+
+    private final UserRepository userRepository;
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public int currentVersion(Long userId) {
+        Integer version = versions.get(userId);
+        if (version != null) {
+            return version;
+        }
+        // A stale replica could still accept tokens that were just revoked
+        int loaded = ReplicaRoutingDataSource.onPrimary(() -> userRepository.findById(userId)
+                .map(User::getTokenVersion)
+                .orElse(UNKNOWN_USER));
+        versions.putIfAbsent(userId, loaded);
+        return loaded;
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion != UNKNOWN_USER && currentVersion(userId) == tokenVersion;
+    }
+
+    /**
+     * Invalidates every token issued to the user so far. The caller is expected to save the
+     * user; the in-memory version is only published once that transaction commits.
+     */
+    public void revoke(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        Long userId = user.getId();
+        int newVersion = user.getTokenVersion();
+        TransactionHooks.afterCommit(() -> versions.put(userId, newVersion));
+    }
+
+    public void evict(Long userId) {
+        TransactionHooks.afterCommit(() -> versions.remove(userId));
+    }
+}
@@ -0,0 +1,69 @@
+package com.bluemoon.fees.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * A token whose signature has already been checked. Holds the parsed claims so callers
+ * never need to parse the same compact string a second time.
+ */
+@Getter
+@RequiredArgsConstructor
+public class VerifiedToken {
+
+    private final String token;
+    private final Claims claims;
+
+    public String getId() {
+        return claims.getId();
+    }
+
+    public String getUsername() {
+        return claims.getSubject();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    public String getType() {
+        return claims.get(JwtService.CLAIM_TOKEN_TYPE, String.class);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtService.TOKEN_TYPE_REFRESH.equals(getType());
+    }
+
+    /** True when the token carries the signed claims needed to authenticate without a user lookup. */
+    public boolean hasIdentityClaims() {
+        return claims.get(JwtService.CLAIM_USER_ID) != null
+                && claims.get(JwtService.CLAIM_ROLE) != null
+                && claims.get(JwtService.CLAIM_TOKEN_VERSION) != null;
+    }
+
+    public Long getUserId() {
+        Number userId = claims.get(JwtService.CLAIM_USER_ID, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+
+    public String getRole() {
+        return claims.get(JwtService.CLAIM_ROLE, String.class);
+    }
+
+    public boolean isUserEnabled() {
+        return !Boolean.FALSE.equals(claims.get(JwtService.CLAIM_ENABLED, Boolean.class));
+    }
+
+    public int getTokenVersion() {
+        Number version = claims.get(JwtService.CLAIM_TOKEN_VERSION, Number.class);
+        return version != null ? version.intValue() : TokenVersionRegistry.UNKNOWN_USER;
+    }
+
+    public boolean isExpired() {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+}
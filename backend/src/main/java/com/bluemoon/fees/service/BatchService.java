@@ -0,0 +1,16 @@
+package com.bluemoon.fees.service;
+
+import com.bluemoon.fees.dto.BatchRequest;
+import com.bluemoon.fees.dto.BatchResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs several GET requests for the current user in parallel and collects their responses, so
+ * a client can load a screen in one round trip.
+ */
+public interface BatchService {
+    CompletableFuture<BatchResponse> execute(BatchRequest batch, HttpServletRequest request, HttpServletResponse response);
+}
@@ -0,0 +1,22 @@
+package com.bluemoon.fees.service;
+
+import com.bluemoon.fees.dto.ChargeGenerationResult;
+import com.bluemoon.fees.entity.FeeCharge;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Materializes recurring fees into per-household charges. Generation is idempotent: charges that
+ * already exist are skipped, so an interrupted or repeated run can simply be started again.
+ */
+public interface ChargeService {
+    ChargeGenerationResult generate(YearMonth month);
+
+    ChargeGenerationResult generateCurrentPeriod();
+
+    List<FeeCharge> findByHousehold(Long householdId, YearMonth from, YearMonth to);
+
+    /** Sets the total paid towards a charge; penalties accrue on the remaining balance. */
+    FeeCharge recordPayment(Long chargeId, Double amountPaid);
+}
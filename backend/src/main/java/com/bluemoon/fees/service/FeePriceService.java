@@ -0,0 +1,20 @@
+package com.bluemoon.fees.service;
+
+import com.bluemoon.fees.entity.Fee;
+import com.bluemoon.fees.entity.FeePrice;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Effective-dated amounts and due dates of fees. Lookups are answered from an in-memory
+ * interval index per fee that is refreshed whenever a fee's prices change.
+ */
+public interface FeePriceService {
+    Optional<FeePrice> findPrice(Long feeId, LocalDate date);
+    FeePrice getPrice(Long feeId, LocalDate date);
+    List<FeePrice> getHistory(Long feeId);
+    void recordInitialPrice(Fee fee);
+    void changePrice(Fee fee, Double amount, LocalDate dueDate, LocalDate effectiveFrom);
+    void deleteHistory(Long feeId);
+}
@@ -3,15 +3,18 @@ package com.bluemoon.fees.service;
 import com.bluemoon.fees.entity.Fee;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface FeeService extends BaseService<Fee, Long> {
     List<Fee> findAllActive();
+    List<Map<String, Object>> findAllFields(String fields, boolean activeOnly);
     Fee findActiveById(Long id);
     List<Fee> findByType(String type);
     List<Fee> findByDueDateRange(LocalDate startDate, LocalDate endDate);
     List<Fee> findOverdueFees();
     Fee createFee(Fee fee);
     Fee updateFee(Long id, Fee fee);
+    Fee updateFee(Long id, Fee fee, LocalDate effectiveFrom);
     void deactivateFee(Long id);
     void activateFee(Long id);
 } 
\ No newline at end of file
@@ -2,9 +2,11 @@ package com.bluemoon.fees.service;
 
 import com.bluemoon.fees.entity.Household;
 import java.util.List;
+import java.util.Map;
 
 public interface HouseholdService extends BaseService<Household, Long> {
     List<Household> findAllActive();
+    List<Map<String, Object>> findAllFields(String fields, boolean activeOnly);
     Household findActiveById(Long id);
     List<Household> searchByOwnerName(String ownerName);
     List<Household> searchByAddress(String address);
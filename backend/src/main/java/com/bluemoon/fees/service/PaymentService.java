@@ -1,10 +1,14 @@
 package com.bluemoon.fees.service;
 
+import com.bluemoon.fees.dto.FeeArrears;
+import com.bluemoon.fees.dto.PaymentTotals;
 import com.bluemoon.fees.entity.Payment;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface PaymentService extends BaseService<Payment, Long> {
+    List<Map<String, Object>> findAllFields(String fields);
     List<Payment> findByHousehold(Long householdId);
     List<Payment> findByFee(Long feeId);
     List<Payment> findByDateRange(LocalDate startDate, LocalDate endDate);
@@ -18,4 +22,8 @@ public interface PaymentService extends BaseService<Payment, Long> {
     Double calculateTotalPaymentsByHousehold(Long householdId);
     Double calculateTotalPaymentsByFee(Long feeId);
     Double calculateTotalPaymentsByDateRange(LocalDate startDate, LocalDate endDate);
+    PaymentTotals getTotalsByHousehold(Long householdId);
+    PaymentTotals getTotalsByFee(Long feeId);
+    FeeArrears getArrearsByHousehold(Long householdId);
+    FeeArrears getArrearsByFee(Long feeId);
 } 
\ No newline at end of file
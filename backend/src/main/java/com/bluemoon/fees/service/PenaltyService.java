@@ -0,0 +1,15 @@
+package com.bluemoon.fees.service;
+
+import com.bluemoon.fees.dto.PenaltyRunResult;
+
+import java.time.LocalDate;
+
+/**
+ * Accrues late-payment penalties on overdue charges of mandatory recurring fees. Runs are
+ * incremental: charges already accrued through the day, paid in full or capped are not read.
+ */
+public interface PenaltyService {
+    PenaltyRunResult accrue(LocalDate today);
+
+    PenaltyRunResult accrueToday();
+}
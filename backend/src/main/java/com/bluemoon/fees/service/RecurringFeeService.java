@@ -0,0 +1,11 @@
+package com.bluemoon.fees.service;
+
+import com.bluemoon.fees.entity.RecurringFee;
+import java.util.List;
+
+public interface RecurringFeeService extends BaseService<RecurringFee, Long> {
+    List<RecurringFee> findAllActive();
+    RecurringFee createRecurringFee(RecurringFee recurringFee);
+    RecurringFee updateRecurringFee(Long id, RecurringFee recurringFee);
+    void deactivateRecurringFee(Long id);
+}
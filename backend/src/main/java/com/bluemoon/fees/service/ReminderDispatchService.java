@@ -0,0 +1,21 @@
+package com.bluemoon.fees.service;
+
+import com.bluemoon.fees.dto.ReminderEnqueueResult;
+import com.bluemoon.fees.entity.ReminderMessage;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Delivers reminders to residents through an outbox. Enqueueing renders one message per
+ * household and transport in the caller's transaction; a background dispatcher sends them under
+ * per-transport rate limits and retries failures with backoff. Enqueueing the same reminder
+ * again is harmless.
+ */
+public interface ReminderDispatchService {
+
+    /** Enqueues a reminder for every active household with an unpaid charge for the period. */
+    ReminderEnqueueResult enqueueCharges(long recurringFeeId, LocalDate periodStart, boolean overdue);
+
+    Map<ReminderMessage.Status, Long> getOutboxCounts();
+}
@@ -0,0 +1,15 @@
+package com.bluemoon.fees.service;
+
+import com.bluemoon.fees.entity.Fee;
+import java.time.LocalDate;
+
+/**
+ * Due-soon and overdue reminders for fees and recurring fee charges, held in memory on a timing
+ * wheel and fired at their moment rather than found by polling the tables.
+ */
+public interface ReminderService {
+    void feeChanged(Fee fee);
+    void feeRemoved(Long feeId);
+    void chargesGenerated(Long recurringFeeId, LocalDate periodStart, LocalDate dueDate);
+    int pendingReminders();
+}
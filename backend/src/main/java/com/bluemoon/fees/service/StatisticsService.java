@@ -0,0 +1,17 @@
+package com.bluemoon.fees.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Report-style reads that run on the statistics bulkhead rather than request threads, so a burst
+ * of them cannot starve payment writes of threads or connections.
+ */
+public interface StatisticsService {
+    CompletableFuture<Map<String, Object>> getHouseholdStatistics(Long householdId);
+    CompletableFuture<Map<String, Object>> getFeeStatistics(Long feeId);
+    CompletableFuture<Double> getTotalByHousehold(Long householdId);
+    CompletableFuture<Double> getTotalByFee(Long feeId);
+    CompletableFuture<Double> getTotalByDateRange(LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,9 @@
+package com.bluemoon.fees.service;
+
+import com.bluemoon.fees.dto.SyncResponse;
+
+public interface SyncService {
+    SyncResponse changesSince(long since);
+
+    int pruneTombstones();
+}
@@ -9,6 +9,8 @@ public interface UserService extends BaseService<User, Long>, UserDetailsService
     User createUser(User user);
     User updateUser(Long id, User user);
     void changePassword(Long id, String oldPassword, String newPassword);
+    void updateRole(Long id, String role);
+    void updateStatus(Long id, boolean enabled);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     User findAdminUser();
@@ -0,0 +1,187 @@
+package com.bluemoon.fees.service.impl;
+
+import com.bluemoon.fees.batch.BatchDispatcher;
+import com.bluemoon.fees.dto.BatchRequest;
+import com.bluemoon.fees.dto.BatchResponse;
+import com.bluemoon.fees.exception.TooManyRequestsException;
+import com.bluemoon.fees.security.RateLimitFilter;
+import com.bluemoon.fees.service.BatchService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchServiceImpl implements BatchService {
+
+    // Sub-response headers worth passing on; the rest describe the embedded body's transport
+    private static final List<String> FORWARDED_HEADERS =
+            List.of(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.RETRY_AFTER);
+
+    private final BatchDispatcher batchDispatcher;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private final ObjectMapper objectMapper;
+    private final RateLimitFilter rateLimitFilter;
+
+    @Value("${batch.max-requests:20}")
+    private int maxRequests;
+
+    @Override
+    public CompletableFuture<BatchResponse> execute(BatchRequest batch, HttpServletRequest request,
+                                                    HttpServletResponse response) {
+        List<BatchRequest.Item> items = validate(batch);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        List<CompletableFuture<BatchResponse.Item>> results = new ArrayList<>(items.size());
+        for (BatchRequest.Item item : items) {
+            String path = item.getPath();
+            int query = path.indexOf('?');
+            String pathOnly = query < 0 ? path : path.substring(0, query);
+            // The filter chain is skipped for sub-requests, so URL rules and rate limits are applied here
+            if (!privilegeEvaluator.isAllowed(request.getContextPath(), pathOnly, "GET", authentication)) {
+                results.add(CompletableFuture.completedFuture(error(item, HttpStatus.FORBIDDEN, "Access denied")));
+                continue;
+            }
+            // Each item pays its route's cost from the caller's bucket, so batching saves no tokens
+            long waitNanos = rateLimitFilter.charge(request, "GET", pathOnly);
+            if (waitNanos > 0) {
+                results.add(CompletableFuture.completedFuture(error(item, HttpStatus.TOO_MANY_REQUESTS,
+                        "Rate limit exceeded, please retry later",
+                        Map.of(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimitFilter.retryAfterSeconds(waitNanos))))));
+                continue;
+            }
+            results.add(batchDispatcher.dispatch(request, response, path, item.getHeaders())
+                    .handle((result, ex) -> ex == null ? toItem(item, result) : failed(item, ex)));
+        }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(done -> BatchResponse.builder()
+                        .responses(results.stream().map(CompletableFuture::join).toList())
+                        .build());
+    }
+
+    private List<BatchRequest.Item> validate(BatchRequest batch) {
+        if (batch == null || batch.getRequests() == null || batch.getRequests().isEmpty()) {
+            throw new RuntimeException("Batch must contain at least one request");
+        }
+        List<BatchRequest.Item> items = batch.getRequests();
+        if (items.size() > maxRequests) {
+            throw new RuntimeException("Batch must not contain more than " + maxRequests + " requests");
+        }
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchRequest.Item item = items.get(i);
+            if (item == null) {
+                throw new RuntimeException("Batch request " + i + " is empty");
+            }
+            if (item.getId() == null) {
+                item.setId(String.valueOf(i));
+            }
+            if (!ids.add(item.getId())) {
+                throw new RuntimeException("Duplicate batch request id: " + item.getId());
+            }
+            String path = item.getPath();
+            if (path == null || !path.startsWith("/api/") || path.startsWith("/api/batch")
+                    || path.contains("..") || path.contains("//") || path.contains("#")) {
+                throw new RuntimeException("Invalid batch request path: " + path);
+            }
+        }
+        return items;
+    }
+
+    private BatchResponse.Item toItem(BatchRequest.Item item, BatchDispatcher.Result result) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : FORWARDED_HEADERS) {
+            List<String> values = result.headers().get(name);
+            if (values != null) {
+                headers.put(name, values.get(0));
+            }
+        }
+        if (result.body().length == 0) {
+            // sendError leaves no body; mirror the error JSON the handler advice would write
+            return result.status() >= 400
+                    ? error(item, HttpStatus.valueOf(result.status()), null, headers)
+                    : item(item, result.status(), headers, null);
+        }
+        String body = new String(result.body(), StandardCharsets.UTF_8);
+        if (!isJson(result.contentType())) {
+            body = json(body);
+        }
+        return item(item, result.status(), headers, body);
+    }
+
+    private BatchResponse.Item failed(BatchRequest.Item item, Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof TooManyRequestsException tooMany) {
+            return error(item, HttpStatus.TOO_MANY_REQUESTS, tooMany.getMessage(),
+                    Map.of(HttpHeaders.RETRY_AFTER, String.valueOf(tooMany.getRetryAfterSeconds())));
+        }
+        if (cause instanceof TimeoutException) {
+            return error(item, HttpStatus.GATEWAY_TIMEOUT, "Request timed out");
+        }
+        log.warn("Batch request {} failed: {}", item.getPath(), cause.toString());
+        return error(item, HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+    }
+
+    private BatchResponse.Item error(BatchRequest.Item item, HttpStatus status, String message) {
+        return error(item, status, message, Map.of());
+    }
+
+    private BatchResponse.Item error(BatchRequest.Item item, HttpStatus status, String message,
+                                     Map<String, String> headers) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        return item(item, status.value(), headers, json(body));
+    }
+
+    private BatchResponse.Item item(BatchRequest.Item item, int status, Map<String, String> headers, String body) {
+        return BatchResponse.Item.builder()
+                .id(item.getId())
+                .status(status)
+                .headers(headers)
+                .body(body)
+                .build();
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return MediaType.APPLICATION_JSON.isCompatibleWith(mediaType) || mediaType.getSubtype().endsWith("+json");
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
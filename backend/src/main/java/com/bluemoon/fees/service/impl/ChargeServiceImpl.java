@@ -0,0 +1,187 @@
+package com.bluemoon.fees.service.impl;
+
+import com.bluemoon.fees.dto.ChargeGenerationResult;
+import com.bluemoon.fees.entity.FeeCharge;
+import com.bluemoon.fees.entity.RecurringFee;
+import com.bluemoon.fees.monitoring.BusinessMetrics;
+import com.bluemoon.fees.repository.ChargeBatchRepository;
+import com.bluemoon.fees.repository.ChargeBatchRepository.Households;
+import com.bluemoon.fees.repository.FeeChargeRepository;
+import com.bluemoon.fees.repository.RecurringFeeRepository;
+import com.bluemoon.fees.service.ChargeService;
+import com.bluemoon.fees.service.ReminderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Service
+@Slf4j
+public class ChargeServiceImpl implements ChargeService {
+
+    /** A chunk's counts: charges written and charges that already existed. */
+    private record ChunkResult(long created, long skipped) {
+    }
+
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final RecurringFeeRepository recurringFeeRepository;
+    private final FeeChargeRepository feeChargeRepository;
+    private final ChargeBatchRepository chargeBatchRepository;
+    private final BusinessMetrics businessMetrics;
+    private final ReminderService reminderService;
+    private final ExecutorService chargeGenerationExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    // Households per chunk; each chunk is one transaction with one JDBC batch per recurring fee
+    @Value("${billing.generator.chunk-size:1000}")
+    private int chunkSize;
+
+    public ChargeServiceImpl(RecurringFeeRepository recurringFeeRepository, FeeChargeRepository feeChargeRepository,
+                             ChargeBatchRepository chargeBatchRepository, BusinessMetrics businessMetrics,
+                             ReminderService reminderService, ExecutorService chargeGenerationExecutor,
+                             PlatformTransactionManager transactionManager) {
+        this.recurringFeeRepository = recurringFeeRepository;
+        this.feeChargeRepository = feeChargeRepository;
+        this.chargeBatchRepository = chargeBatchRepository;
+        this.businessMetrics = businessMetrics;
+        this.reminderService = reminderService;
+        this.chargeGenerationExecutor = chargeGenerationExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Splits the active households into id ranges and writes each range's charges in parallel.
+     * Chunks commit independently, so a failed run leaves whole chunks behind and the next run
+     * only fills in what is missing.
+     */
+    @Override
+    public ChargeGenerationResult generate(YearMonth month) {
+        long started = System.nanoTime();
+        List<RecurringFee> fees = recurringFeeRepository.findByActiveTrue().stream()
+                .filter(fee -> fee.appliesTo(month))
+                .toList();
+        List<Long> householdIds = fees.isEmpty() ? List.of() : chargeBatchRepository.findActiveHouseholdIds();
+
+        List<CompletableFuture<ChunkResult>> chunks = new ArrayList<>();
+        for (int from = 0; from < householdIds.size(); from += chunkSize) {
+            long firstId = householdIds.get(from);
+            long lastId = householdIds.get(Math.min(from + chunkSize, householdIds.size()) - 1);
+            chunks.add(CompletableFuture.supplyAsync(() -> generateChunk(fees, month, firstId, lastId),
+                    chargeGenerationExecutor));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        if (!householdIds.isEmpty()) {
+            for (RecurringFee fee : fees) {
+                YearMonth period = fee.getFrequency().periodStart(month);
+                reminderService.chargesGenerated(fee.getId(), period.atDay(1), fee.dueDate(period));
+            }
+        }
+
+        long created = 0;
+        long skipped = 0;
+        for (CompletableFuture<ChunkResult> chunk : chunks) {
+            created += chunk.join().created();
+            skipped += chunk.join().skipped();
+        }
+        return ChargeGenerationResult.builder()
+                .period(month)
+                .recurringFees(fees.size())
+                .households(householdIds.size())
+                .chunks(chunks.size())
+                .created(created)
+                .skipped(skipped)
+                .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    /** Runs daily so that a missed run, e.g. during a deployment, is caught up the next day. */
+    @Override
+    @Scheduled(cron = "${billing.generator.cron:0 15 1 * * *}")
+    public ChargeGenerationResult generateCurrentPeriod() {
+        ChargeGenerationResult result = generate(YearMonth.now());
+        if (result.getCreated() > 0) {
+            log.info("Generated {} charges for {} in {} ms", result.getCreated(), result.getPeriod(),
+                    result.getElapsedMillis());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FeeCharge> findByHousehold(Long householdId, YearMonth from, YearMonth to) {
+        if (from == null && to == null) {
+            return feeChargeRepository.findByHouseholdIdOrderByPeriodStartAscIdAsc(householdId);
+        }
+        LocalDate start = from != null ? from.atDay(1) : LocalDate.of(1970, 1, 1);
+        LocalDate end = to != null ? to.atDay(1) : LocalDate.of(9999, 12, 1);
+        return feeChargeRepository.findByHouseholdIdAndPeriodStartBetweenOrderByPeriodStartAscIdAsc(householdId, start, end);
+    }
+
+    @Override
+    @Transactional
+    public FeeCharge recordPayment(Long chargeId, Double amountPaid) {
+        if (amountPaid == null || amountPaid < 0) {
+            throw new RuntimeException("Amount paid must not be negative");
+        }
+        if (feeChargeRepository.updateAmountPaid(chargeId, amountPaid) == 0) {
+            throw new RuntimeException("Charge not found with id: " + chargeId);
+        }
+        return feeChargeRepository.findById(chargeId).orElseThrow();
+    }
+
+    private ChunkResult generateChunk(List<RecurringFee> fees, YearMonth month, long firstId, long lastId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> writeChunk(fees, month, firstId, lastId));
+            } catch (DuplicateKeyException | ConcurrencyFailureException e) {
+                // A concurrent run wrote some of these charges first, or the database picked this
+                // chunk as a deadlock victim; charges that exist by now are skipped on the retry
+                if (attempt == MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Retrying charges for households {}..{}: {}", firstId, lastId, e.getMessage());
+            }
+        }
+    }
+
+    private ChunkResult writeChunk(List<RecurringFee> fees, YearMonth month, long firstId, long lastId) {
+        Households households = chargeBatchRepository.findActiveHouseholds(firstId, lastId);
+        long[] ids = new long[households.size()];
+        double[] amounts = new double[households.size()];
+        long created = 0;
+        long skipped = 0;
+        for (RecurringFee fee : fees) {
+            YearMonth period = fee.getFrequency().periodStart(month);
+            Set<Long> charged = chargeBatchRepository.findChargedHouseholdIds(fee.getId(), period.atDay(1), firstId, lastId);
+            int count = 0;
+            for (int i = 0; i < households.size(); i++) {
+                if (!charged.contains(households.ids()[i])) {
+                    ids[count] = households.ids()[i];
+                    amounts[count] = fee.isPerMember() ? fee.getAmount() * households.members()[i] : fee.getAmount();
+                    count++;
+                }
+            }
+            if (count > 0) {
+                chargeBatchRepository.insertCharges(fee.getId(), period.atDay(1), fee.dueDate(period), ids, amounts, count);
+            }
+            created += count;
+            skipped += households.size() - count;
+        }
+        businessMetrics.chargesGenerated(created);
+        return new ChunkResult(created, skipped);
+    }
+}
@@ -0,0 +1,185 @@
+package com.bluemoon.fees.service.impl;
+
+import com.bluemoon.fees.datasource.ReplicaRoutingDataSource;
+import com.bluemoon.fees.entity.Fee;
+import com.bluemoon.fees.entity.FeePrice;
+import com.bluemoon.fees.repository.FeePriceRepository;
+import com.bluemoon.fees.repository.FeeRepository;
+import com.bluemoon.fees.service.FeePriceService;
+import com.bluemoon.fees.util.PriceTimeline;
+import com.bluemoon.fees.util.TransactionHooks;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class FeePriceServiceImpl implements FeePriceService {
+
+    private final FeePriceRepository feePriceRepository;
+    private final FeeRepository feeRepository;
+    private final TransactionTemplate loadTransaction;
+    private final Map<Long, PriceTimeline> timelines = new ConcurrentHashMap<>();
+    // Bumped on every eviction; a load that overlapped one is not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    public FeePriceServiceImpl(FeePriceRepository feePriceRepository, FeeRepository feeRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.feePriceRepository = feePriceRepository;
+        this.feeRepository = feeRepository;
+        // Only used when no transaction is active
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public Optional<FeePrice> findPrice(Long feeId, LocalDate date) {
+        return Optional.ofNullable(timeline(feeId).at(date));
+    }
+
+    @Override
+    public FeePrice getPrice(Long feeId, LocalDate date) {
+        return findPrice(feeId, date)
+                .orElseThrow(() -> new RuntimeException("No price for fee " + feeId + " on " + date));
+    }
+
+    @Override
+    public List<FeePrice> getHistory(Long feeId) {
+        return timeline(feeId).versions();
+    }
+
+    @Override
+    @Transactional
+    public void recordInitialPrice(Fee fee) {
+        feePriceRepository.save(version(fee.getId(), fee.getAmount(), fee.getDueDate(), FeePrice.BEGINNING));
+        evict(fee.getId());
+    }
+
+    /**
+     * Closes the current version on {@code effectiveFrom} and opens a new one. A change on the
+     * day the current version starts corrects it in place. Must be called before the fee itself
+     * is updated: a fee without history gets its current values recorded as the first version.
+     */
+    @Override
+    @Transactional
+    public void changePrice(Fee fee, Double amount, LocalDate dueDate, LocalDate effectiveFrom) {
+        List<FeePrice> versions = feePriceRepository.findByFeeIdOrderByEffectiveFromAsc(fee.getId());
+        FeePrice current = versions.isEmpty()
+                ? feePriceRepository.save(version(fee.getId(), fee.getAmount(), fee.getDueDate(), FeePrice.BEGINNING))
+                : versions.get(versions.size() - 1);
+        if (effectiveFrom.isBefore(current.getEffectiveFrom())) {
+            throw new RuntimeException("Price changes must take effect on or after " + current.getEffectiveFrom());
+        }
+        if (effectiveFrom.equals(current.getEffectiveFrom())) {
+            current.setAmount(amount);
+            current.setDueDate(dueDate);
+        } else {
+            current.setEffectiveTo(effectiveFrom);
+            feePriceRepository.save(version(fee.getId(), amount, dueDate, effectiveFrom));
+        }
+        evict(fee.getId());
+    }
+
+    @Override
+    @Transactional
+    public void deleteHistory(Long feeId) {
+        feePriceRepository.deleteByFeeId(feeId);
+        evict(feeId);
+    }
+
+    private PriceTimeline timeline(Long feeId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            PriceTimeline cached = timelines.get(feeId);
+            if (cached != null) {
+                return cached;
+            }
+            long seen = evictions.get();
+            // A stale replica could return the versions from before a change that was just evicted
+            PriceTimeline loaded = ReplicaRoutingDataSource.onPrimary(() -> loadTransaction.execute(status -> load(feeId)));
+            if (evictions.get() == seen) {
+                timelines.putIfAbsent(feeId, loaded);
+            }
+            return loaded;
+        }
+
+        // Inside a transaction the versions are read on its own connection: a second one could
+        // wait on a pool drained by callers like this one, and would not see this transaction's
+        // price changes. What it reads may come from a replica or an older snapshot, so it is
+        // kept for this transaction only.
+        TransactionPrices local = transactionPrices();
+        PriceTimeline timeline = local.loaded().get(feeId);
+        if (timeline == null && !local.changed().contains(feeId)) {
+            timeline = timelines.get(feeId);
+        }
+        if (timeline == null) {
+            timeline = ReplicaRoutingDataSource.onPrimary(() -> load(feeId));
+            local.loaded().put(feeId, timeline);
+        }
+        return timeline;
+    }
+
+    /** Timelines read and fees whose prices were changed in the current transaction. */
+    private record TransactionPrices(Map<Long, PriceTimeline> loaded, Set<Long> changed) {
+    }
+
+    private TransactionPrices transactionPrices() {
+        TransactionPrices prices = (TransactionPrices) TransactionSynchronizationManager.getResource(this);
+        if (prices == null) {
+            prices = new TransactionPrices(new HashMap<>(), new HashSet<>());
+            TransactionSynchronizationManager.bindResource(this, prices);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(FeePriceServiceImpl.this);
+                }
+            });
+        }
+        return prices;
+    }
+
+    private PriceTimeline load(Long feeId) {
+        List<FeePrice> versions = feePriceRepository.findByFeeIdOrderByEffectiveFromAsc(feeId);
+        if (!versions.isEmpty()) {
+            return PriceTimeline.of(versions);
+        }
+        // Fees created before price history existed have had a single price all along
+        Fee fee = feeRepository.findById(feeId)
+                .orElseThrow(() -> new RuntimeException("Fee not found with id: " + feeId));
+        return PriceTimeline.of(List.of(version(feeId, fee.getAmount(), fee.getDueDate(), FeePrice.BEGINNING)));
+    }
+
+    private void evict(Long feeId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionPrices local = transactionPrices();
+            local.loaded().remove(feeId);
+            local.changed().add(feeId);
+        }
+        TransactionHooks.afterCommit(() -> {
+            evictions.incrementAndGet();
+            timelines.remove(feeId);
+        });
+    }
+
+    private static FeePrice version(Long feeId, Double amount, LocalDate dueDate, LocalDate effectiveFrom) {
+        return FeePrice.builder()
+                .feeId(feeId)
+                .amount(amount)
+                .dueDate(dueDate)
+                .effectiveFrom(effectiveFrom)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
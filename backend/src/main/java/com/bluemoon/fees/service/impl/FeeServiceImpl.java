@@ -4,8 +4,12 @@ import com.bluemoon.fees.entity.Fee;
 import com.bluemoon.fees.entity.Notification;
 import com.bluemoon.fees.entity.User;
 import com.bluemoon.fees.repository.FeeRepository;
+import com.bluemoon.fees.repository.FieldProjection;
+import com.bluemoon.fees.repository.ProjectionRepository;
+import com.bluemoon.fees.service.FeePriceService;
 import com.bluemoon.fees.service.FeeService;
 import com.bluemoon.fees.service.NotificationService;
+import com.bluemoon.fees.service.ReminderService;
 import com.bluemoon.fees.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -13,6 +17,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -20,7 +26,14 @@ import java.util.Optional;
 @Transactional
 public class FeeServiceImpl implements FeeService {
 
+    private static final FieldProjection FIELDS = FieldProjection.of("fees", "Fee", "f")
+            .fields("name", "type", "amount", "dueDate", "description", "active", "changeSeq", "updatedAt")
+            .build();
+
     private final FeeRepository feeRepository;
+    private final FeePriceService feePriceService;
+    private final ReminderService reminderService;
+    private final ProjectionRepository projectionRepository;
     private final NotificationService notificationService;
     private final UserService userService;
 
@@ -35,52 +48,70 @@ public class FeeServiceImpl implements FeeService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Fee> findById(Long id) {
         return feeRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Fee> findAll() {
         return feeRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields, boolean activeOnly) {
+        return projectionRepository.find(FIELDS, FIELDS.resolve(fields), activeOnly ? "f.active = true" : null, Map.of());
+    }
+
     @Override
     public void deleteById(Long id) {
+        feePriceService.deleteHistory(id);
+        reminderService.feeRemoved(id);
         feeRepository.deleteById(id);
     }
 
     @Override
     public void delete(Fee entity) {
+        feePriceService.deleteHistory(entity.getId());
+        reminderService.feeRemoved(entity.getId());
         feeRepository.delete(entity);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         return feeRepository.existsById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Fee> findAllActive() {
         return feeRepository.findByActiveTrue();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Fee findActiveById(Long id) {
         return feeRepository.findByIdAndActiveTrue(id)
                 .orElseThrow(() -> new RuntimeException("Active fee not found with id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Fee> findByType(String type) {
         return feeRepository.findByTypeAndActiveTrue(type);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Fee> findByDueDateRange(LocalDate startDate, LocalDate endDate) {
         return feeRepository.findByDueDateBetweenAndActiveTrue(startDate, endDate);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Fee> findOverdueFees() {
         return feeRepository.findByDueDateBeforeAndActiveTrue(LocalDate.now());
     }
@@ -90,6 +121,8 @@ public class FeeServiceImpl implements FeeService {
         // Không tự động đặt fee.setActive(true) nữa
         // Để giữ nguyên giá trị active từ frontend gửi lên
         Fee savedFee = feeRepository.save(fee);
+        feePriceService.recordInitialPrice(savedFee);
+        reminderService.feeChanged(savedFee);
         
         // Create notification for admin
         User admin = userService.findAdminUser();
@@ -111,14 +144,29 @@ public class FeeServiceImpl implements FeeService {
 
     @Override
     public Fee updateFee(Long id, Fee fee) {
+        return updateFee(id, fee, LocalDate.now());
+    }
+
+    /**
+     * Amount and due date changes become a new price version from {@code effectiveFrom}, so
+     * payments and statistics dated earlier keep the price that applied then. The fee itself
+     * always shows the latest version.
+     */
+    @Override
+    public Fee updateFee(Long id, Fee fee, LocalDate effectiveFrom) {
         Fee existingFee = findActiveById(id);
-        
+        if (!Objects.equals(existingFee.getAmount(), fee.getAmount())
+                || !Objects.equals(existingFee.getDueDate(), fee.getDueDate())) {
+            feePriceService.changePrice(existingFee, fee.getAmount(), fee.getDueDate(), effectiveFrom);
+        }
+
         existingFee.setName(fee.getName());
         existingFee.setType(fee.getType());
         existingFee.setAmount(fee.getAmount());
         existingFee.setDueDate(fee.getDueDate());
         existingFee.setDescription(fee.getDescription());
         existingFee.setActive(fee.isActive());
+        reminderService.feeChanged(existingFee);
         
         return save(existingFee);
     }
@@ -128,6 +176,7 @@ public class FeeServiceImpl implements FeeService {
         Fee fee = findById(id)
                 .orElseThrow(() -> new RuntimeException("Fee not found with id: " + id));
         fee.setActive(false);
+        reminderService.feeChanged(fee);
         save(fee);
     }
 
@@ -136,6 +185,7 @@ public class FeeServiceImpl implements FeeService {
         Fee fee = findById(id)
                 .orElseThrow(() -> new RuntimeException("Fee not found with id: " + id));
         fee.setActive(true);
+        reminderService.feeChanged(fee);
         save(fee);
     }
 } 
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.bluemoon.fees.entity.Household;
 import com.bluemoon.fees.entity.Notification;
 import com.bluemoon.fees.entity.User;
 import com.bluemoon.fees.repository.HouseholdRepository;
+import com.bluemoon.fees.repository.FieldProjection;
+import com.bluemoon.fees.repository.ProjectionRepository;
 import com.bluemoon.fees.service.HouseholdService;
 import com.bluemoon.fees.service.NotificationService;
 import com.bluemoon.fees.service.UserService;
@@ -12,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -19,7 +22,12 @@ import java.util.Optional;
 @Transactional
 public class HouseholdServiceImpl implements HouseholdService {
 
+    private static final FieldProjection FIELDS = FieldProjection.of("households", "Household", "h")
+            .fields("ownerName", "address", "numMembers", "phoneNumber", "email", "active", "changeSeq", "updatedAt")
+            .build();
+
     private final HouseholdRepository householdRepository;
+    private final ProjectionRepository projectionRepository;
     private final UserService userService;
     private final NotificationService notificationService;
 
@@ -34,15 +42,23 @@ public class HouseholdServiceImpl implements HouseholdService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Household> findById(Long id) {
         return householdRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Household> findAll() {
         return householdRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields, boolean activeOnly) {
+        return projectionRepository.find(FIELDS, FIELDS.resolve(fields), activeOnly ? "h.active = true" : null, Map.of());
+    }
+
     @Override
     public void deleteById(Long id) {
         householdRepository.deleteById(id);
@@ -54,27 +70,32 @@ public class HouseholdServiceImpl implements HouseholdService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         return householdRepository.existsById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Household> findAllActive() {
         return householdRepository.findByActiveTrue();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Household findActiveById(Long id) {
         return householdRepository.findByIdAndActiveTrue(id)
                 .orElseThrow(() -> new RuntimeException("Active household not found with id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Household> searchByOwnerName(String ownerName) {
         return householdRepository.findByOwnerNameContainingIgnoreCase(ownerName);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Household> searchByAddress(String address) {
         return householdRepository.findByAddressContainingIgnoreCase(address);
     }
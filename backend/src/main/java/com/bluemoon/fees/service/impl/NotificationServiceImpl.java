@@ -2,11 +2,13 @@ package com.bluemoon.fees.service.impl;
 
 import com.bluemoon.fees.entity.Notification;
 import com.bluemoon.fees.entity.User;
+import com.bluemoon.fees.monitoring.BusinessMetrics;
+import com.bluemoon.fees.monitoring.jfr.NotificationDispatchedEvent;
 import com.bluemoon.fees.repository.NotificationRepository;
 import com.bluemoon.fees.service.NotificationService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,9 +17,13 @@ import java.util.List;
 public class NotificationServiceImpl implements NotificationService {
     
     private final NotificationRepository notificationRepository;
+    private final BusinessMetrics businessMetrics;
 
     @Override
     public void createNotification(String title, String message, Notification.EntityType entityType, Long entityId, User user) {
+        NotificationDispatchedEvent event = new NotificationDispatchedEvent();
+        event.begin();
+
         Notification notification = Notification.builder()
                 .title(title)
                 .message(message)
@@ -27,14 +33,24 @@ public class NotificationServiceImpl implements NotificationService {
                 .build();
         
         notificationRepository.save(notification);
+        businessMetrics.notificationEmitted(entityType);
+
+        if (event.shouldCommit()) {
+            event.entityType = entityType.name();
+            event.entityId = entityId != null ? entityId : 0;
+            event.userId = user != null && user.getId() != null ? user.getId() : 0;
+            event.commit();
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Notification> getUnreadNotifications() {
         return notificationRepository.findByReadFalseOrderByCreatedAtDesc();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Notification> getUserNotifications(Long userId) {
         return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
@@ -46,6 +62,7 @@ public class NotificationServiceImpl implements NotificationService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long getUnreadCount() {
         return notificationRepository.countByReadFalse();
     }
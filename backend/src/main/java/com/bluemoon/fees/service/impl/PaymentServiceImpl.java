@@ -1,9 +1,18 @@
 package com.bluemoon.fees.service.impl;
 
+import com.bluemoon.fees.dto.FeeArrears;
+import com.bluemoon.fees.dto.PaidByDate;
+import com.bluemoon.fees.dto.PaymentTotals;
 import com.bluemoon.fees.entity.Payment;
 import com.bluemoon.fees.entity.Notification;
 import com.bluemoon.fees.entity.User;
+import com.bluemoon.fees.monitoring.BusinessMetrics;
+import com.bluemoon.fees.monitoring.jfr.PaymentCreatedEvent;
+import com.bluemoon.fees.monitoring.jfr.StatisticsComputedEvent;
 import com.bluemoon.fees.repository.PaymentRepository;
+import com.bluemoon.fees.repository.FieldProjection;
+import com.bluemoon.fees.repository.ProjectionRepository;
+import com.bluemoon.fees.service.FeePriceService;
 import com.bluemoon.fees.service.PaymentService;
 import com.bluemoon.fees.service.NotificationService;
 import com.bluemoon.fees.service.UserService;
@@ -14,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -22,9 +32,23 @@ import java.util.Optional;
 @Slf4j
 public class PaymentServiceImpl implements PaymentService {
 
+    // Same names as PaymentDTO
+    private static final FieldProjection FIELDS = FieldProjection.of("payments", "Payment", "p")
+            .field("householdId", "household.id")
+            .field("householdOwnerName", "household.ownerName")
+            .field("householdAddress", "household.address")
+            .field("feeId", "fee.id")
+            .field("feeName", "fee.name")
+            .field("feeAmount", "fee.amount")
+            .fields("paymentDate", "amount", "amountPaid", "verified", "notes")
+            .build();
+
     private final PaymentRepository paymentRepository;
+    private final FeePriceService feePriceService;
+    private final ProjectionRepository projectionRepository;
     private final NotificationService notificationService;
     private final UserService userService;
+    private final BusinessMetrics businessMetrics;
 
     @Override
     public Payment save(Payment entity) {
@@ -37,15 +61,23 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Payment> findById(Long id) {
         return paymentRepository.findByIdWithHouseholdAndFee(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Payment> findAll() {
         return paymentRepository.findAllWithHouseholdAndFee();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields) {
+        return projectionRepository.find(FIELDS, FIELDS.resolve(fields));
+    }
+
     @Override
     public void deleteById(Long id) {
         paymentRepository.deleteById(id);
@@ -57,43 +89,53 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         return paymentRepository.existsById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Payment> findByHousehold(Long householdId) {
         return paymentRepository.findByHouseholdId(householdId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Payment> findByFee(Long feeId) {
         return paymentRepository.findByFeeId(feeId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Payment> findByDateRange(LocalDate startDate, LocalDate endDate) {
         return paymentRepository.findByPaymentDateBetween(startDate, endDate);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Payment> findUnverifiedPayments() {
         return paymentRepository.findByVerifiedFalse();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Payment findByHouseholdAndFee(Long householdId, Long feeId) {
         return paymentRepository.findByHouseholdIdAndFeeId(householdId, feeId)
                 .orElseThrow(() -> new RuntimeException("Payment not found for household: " + householdId + " and fee: " + feeId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Payment> findByHouseholdAndDateRange(Long householdId, LocalDate startDate, LocalDate endDate) {
         return paymentRepository.findByHouseholdIdAndPaymentDateBetween(householdId, startDate, endDate);
     }
 
     @Override
     public Payment createPayment(Payment payment) {
+        PaymentCreatedEvent event = new PaymentCreatedEvent();
+        event.begin();
+
         // Set default values
         if (payment.getPaymentDate() == null) {
             payment.setPaymentDate(LocalDate.now());
@@ -102,11 +144,17 @@ public class PaymentServiceImpl implements PaymentService {
         // Không tự động đặt payment.setVerified(false) nữa
         // Để giữ nguyên giá trị verified từ frontend gửi lên
         
+        // Priced as of the payment date, so a backdated payment is not charged a later price
+        if (payment.getAmount() == null && payment.getFee() != null && payment.getFee().getId() != null) {
+            payment.setAmount(feePriceService.getPrice(payment.getFee().getId(), payment.getPaymentDate()).getAmount());
+        }
+
         if (payment.getAmountPaid() == null) {
             payment.setAmountPaid(payment.getAmount());
         }
         
         Payment savedPayment = paymentRepository.save(payment);
+        businessMetrics.paymentCreated(savedPayment.isVerified());
         
         // Create notification for admin
         User admin = userService.findAdminUser();
@@ -130,7 +178,16 @@ public class PaymentServiceImpl implements PaymentService {
             savedPayment.getId(),
             admin
         );
-        
+
+        if (event.shouldCommit()) {
+            event.paymentId = savedPayment.getId();
+            event.householdId = payment.getHousehold() != null && payment.getHousehold().getId() != null
+                    ? payment.getHousehold().getId() : 0;
+            event.feeId = payment.getFee() != null && payment.getFee().getId() != null ? payment.getFee().getId() : 0;
+            event.amount = payment.getAmount() != null ? payment.getAmount() : 0;
+            event.verified = savedPayment.isVerified();
+            event.commit();
+        }
         return savedPayment;
     }
 
@@ -173,6 +230,7 @@ public class PaymentServiceImpl implements PaymentService {
                 .orElseThrow(() -> new RuntimeException("Payment not found with id: " + id));
         payment.setVerified(true);
         save(payment);
+        businessMetrics.paymentVerified();
     }
 
     @Override
@@ -181,26 +239,79 @@ public class PaymentServiceImpl implements PaymentService {
                 .orElseThrow(() -> new RuntimeException("Payment not found with id: " + id));
         payment.setVerified(false);
         save(payment);
+        businessMetrics.paymentUnverified();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Double calculateTotalPaymentsByHousehold(Long householdId) {
-        return findByHousehold(householdId).stream()
-                .mapToDouble(Payment::getAmount)
-                .sum();
+        return getTotalsByHousehold(householdId).getTotal();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Double calculateTotalPaymentsByFee(Long feeId) {
-        return findByFee(feeId).stream()
-                .mapToDouble(Payment::getAmount)
-                .sum();
+        return getTotalsByFee(feeId).getTotal();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Double calculateTotalPaymentsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return findByDateRange(startDate, endDate).stream()
-                .mapToDouble(Payment::getAmount)
-                .sum();
+        StatisticsComputedEvent event = new StatisticsComputedEvent();
+        event.begin();
+        return record(paymentRepository.totalsByPaymentDateBetween(startDate, endDate), event,
+                "dateRange", startDate + ".." + endDate).getTotal();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaymentTotals getTotalsByHousehold(Long householdId) {
+        StatisticsComputedEvent event = new StatisticsComputedEvent();
+        event.begin();
+        return record(paymentRepository.totalsByHouseholdId(householdId), event, "household", String.valueOf(householdId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaymentTotals getTotalsByFee(Long feeId) {
+        StatisticsComputedEvent event = new StatisticsComputedEvent();
+        event.begin();
+        return record(paymentRepository.totalsByFeeId(feeId), event, "fee", String.valueOf(feeId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FeeArrears getArrearsByHousehold(Long householdId) {
+        return arrears(paymentRepository.paidByDateForHousehold(householdId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FeeArrears getArrearsByFee(Long feeId) {
+        return arrears(paymentRepository.paidByDateForFee(feeId));
+    }
+
+    // One price lookup per fee and payment date rather than per payment
+    private FeeArrears arrears(List<PaidByDate> groups) {
+        long count = 0;
+        double due = 0;
+        double paid = 0;
+        for (PaidByDate group : groups) {
+            count += group.getCount();
+            due += group.getCount() * feePriceService.getPrice(group.getFeeId(), group.getPaymentDate()).getAmount();
+            paid += group.getAmountPaid();
+        }
+        return new FeeArrears(count, due, paid);
+    }
+
+    private static PaymentTotals record(PaymentTotals totals, StatisticsComputedEvent event, String scope, String key) {
+        if (event.shouldCommit()) {
+            event.scope = scope;
+            event.key = key;
+            event.payments = totals.getCount();
+            event.total = totals.getTotal();
+            event.commit();
+        }
+        return totals;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package com.bluemoon.fees.service.impl;
+
+import com.bluemoon.fees.config.PenaltyProperties;
+import com.bluemoon.fees.dto.PenaltyRunResult;
+import com.bluemoon.fees.repository.ChargeBatchRepository;
+import com.bluemoon.fees.repository.ChargeBatchRepository.Outstanding;
+import com.bluemoon.fees.service.PenaltyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+
+import static com.bluemoon.fees.repository.ChargeBatchRepository.NOT_ACCRUED;
+
+@Service
+@Slf4j
+public class PenaltyServiceImpl implements PenaltyService {
+
+    /** Counts for one batch of charges. */
+    private record BatchResult(int scanned, int updated, int settled, int conflicts) {
+    }
+
+    private final ChargeBatchRepository chargeBatchRepository;
+    private final PenaltyProperties properties;
+    private final ExecutorService penaltyAccrualExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public PenaltyServiceImpl(ChargeBatchRepository chargeBatchRepository, PenaltyProperties properties,
+                              ExecutorService penaltyAccrualExecutor, PlatformTransactionManager transactionManager) {
+        this.chargeBatchRepository = chargeBatchRepository;
+        this.properties = properties;
+        this.penaltyAccrualExecutor = penaltyAccrualExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Streams candidate charges in batches and accrues and writes back each batch on the penalty
+     * pool while the next one is read. At most two batches per thread are held in memory.
+     */
+    @Override
+    public PenaltyRunResult accrue(LocalDate today) {
+        long started = System.nanoTime();
+        LocalDate overdueBefore = today.minusDays(properties.getGraceDays());
+        Semaphore inFlight = new Semaphore(properties.getThreads() * 2);
+
+        List<CompletableFuture<BatchResult>> batches = new ArrayList<>();
+        chargeBatchRepository.streamPenaltyCandidates(overdueBefore, today, properties.getChunkSize(), rows -> {
+            inFlight.acquireUninterruptibly();
+            batches.add(CompletableFuture.supplyAsync(() -> accrueBatch(rows, today), penaltyAccrualExecutor)
+                    .whenComplete((result, ex) -> inFlight.release()));
+        });
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).join();
+
+        long scanned = 0;
+        long updated = 0;
+        long settled = 0;
+        long conflicts = 0;
+        for (CompletableFuture<BatchResult> batch : batches) {
+            BatchResult counts = batch.join();
+            scanned += counts.scanned();
+            updated += counts.updated();
+            settled += counts.settled();
+            conflicts += counts.conflicts();
+        }
+        return PenaltyRunResult.builder()
+                .date(today)
+                .batches(batches.size())
+                .scanned(scanned)
+                .updated(updated)
+                .settled(settled)
+                .conflicts(conflicts)
+                .elapsedMillis((System.nanoTime() - started) / 1_000_000)
+                .build();
+    }
+
+    /** Runs after the nightly charge generation. */
+    @Override
+    @Scheduled(cron = "${billing.penalty.cron:0 30 1 * * *}")
+    public PenaltyRunResult accrueToday() {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        PenaltyRunResult result = accrue(LocalDate.now());
+        if (result.getScanned() > 0) {
+            log.info("Accrued penalties on {} charges ({} settled, {} changed concurrently) in {} ms",
+                    result.getUpdated(), result.getSettled(), result.getConflicts(), result.getElapsedMillis());
+        }
+        return result;
+    }
+
+    private BatchResult accrueBatch(Outstanding rows, LocalDate today) {
+        int n = rows.size();
+        double[] penalties = new double[n];
+        long[] throughDays = new long[n];
+        boolean[] settled = new boolean[n];
+        int settledCount = accrueRows(rows, today.toEpochDay(), properties, penalties, throughDays, settled);
+        Integer conflicts = transactionTemplate.execute(status ->
+                chargeBatchRepository.updatePenalties(rows, penalties, throughDays, settled));
+        return new BatchResult(n, n - conflicts, settledCount, conflicts);
+    }
+
+    /**
+     * Accrues each row through {@code today} into the output arrays and returns how many rows
+     * became settled. Every row is a candidate, so every row changes: it either moves its
+     * accrual date forward or becomes settled.
+     */
+    private static int accrueRows(Outstanding rows, long today, PenaltyProperties rules, double[] penalties, long[] throughDays,
+                                   boolean[] settled) {
+        double flat = rules.getFlat();
+        double dailyRate = rules.getDailyRate();
+        double capRate = rules.getCapRate();
+        int grace = rules.getGraceDays();
+        int settledCount = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            double amount = rows.amounts()[i];
+            double outstanding = amount - rows.paid()[i];
+            double penalty = rows.penalties()[i];
+            long through = rows.throughDays()[i];
+            boolean done;
+            if (outstanding <= 0) {
+                done = true;
+            } else {
+                long firstDay = through == NOT_ACCRUED ? rows.dueDays()[i] + grace + 1 : through + 1;
+                long days = today - firstDay + 1;
+                if (days > 0) {
+                    if (through == NOT_ACCRUED) {
+                        penalty += flat;
+                    }
+                    penalty += outstanding * dailyRate * days;
+                    through = today;
+                }
+                double cap = capRate > 0 ? amount * capRate : Double.POSITIVE_INFINITY;
+                done = penalty >= cap;
+                penalty = Math.round(Math.min(penalty, cap) * 100) / 100.0;
+            }
+            penalties[i] = penalty;
+            throughDays[i] = through;
+            settled[i] = done;
+            if (done) {
+                settledCount++;
+            }
+        }
+        return settledCount;
+    }
+}
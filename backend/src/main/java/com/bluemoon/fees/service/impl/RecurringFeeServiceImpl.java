@@ -0,0 +1,124 @@
+package com.bluemoon.fees.service.impl;
+
+import com.bluemoon.fees.entity.RecurringFee;
+import com.bluemoon.fees.repository.RecurringFeeRepository;
+import com.bluemoon.fees.service.RecurringFeeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RecurringFeeServiceImpl implements RecurringFeeService {
+
+    private final RecurringFeeRepository recurringFeeRepository;
+
+    @Override
+    public RecurringFee save(RecurringFee entity) {
+        return recurringFeeRepository.save(validate(entity));
+    }
+
+    @Override
+    public List<RecurringFee> saveAll(List<RecurringFee> entities) {
+        entities.forEach(RecurringFeeServiceImpl::validate);
+        return recurringFeeRepository.saveAll(entities);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RecurringFee> findById(Long id) {
+        return recurringFeeRepository.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringFee> findAll() {
+        return recurringFeeRepository.findAll();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        recurringFeeRepository.deleteById(id);
+    }
+
+    @Override
+    public void delete(RecurringFee entity) {
+        recurringFeeRepository.delete(entity);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsById(Long id) {
+        return recurringFeeRepository.existsById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecurringFee> findAllActive() {
+        return recurringFeeRepository.findByActiveTrue();
+    }
+
+    @Override
+    public RecurringFee createRecurringFee(RecurringFee recurringFee) {
+        recurringFee.setId(null);
+        if (recurringFee.getStartDate() == null) {
+            recurringFee.setStartDate(LocalDate.now());
+        }
+        return save(recurringFee);
+    }
+
+    @Override
+    public RecurringFee updateRecurringFee(Long id, RecurringFee recurringFee) {
+        RecurringFee existing = findById(id)
+                .orElseThrow(() -> new RuntimeException("Recurring fee not found with id: " + id));
+
+        // Charges already generated keep the amount they were billed at
+        existing.setName(recurringFee.getName());
+        existing.setType(recurringFee.getType());
+        existing.setFrequency(recurringFee.getFrequency());
+        existing.setAmount(recurringFee.getAmount());
+        existing.setPerMember(recurringFee.isPerMember());
+        existing.setDueDay(recurringFee.getDueDay());
+        existing.setStartDate(recurringFee.getStartDate());
+        existing.setEndDate(recurringFee.getEndDate());
+        existing.setDescription(recurringFee.getDescription());
+        existing.setActive(recurringFee.isActive());
+
+        return save(existing);
+    }
+
+    @Override
+    public void deactivateRecurringFee(Long id) {
+        RecurringFee recurringFee = findById(id)
+                .orElseThrow(() -> new RuntimeException("Recurring fee not found with id: " + id));
+        recurringFee.setActive(false);
+        save(recurringFee);
+    }
+
+    private static RecurringFee validate(RecurringFee recurringFee) {
+        if (recurringFee.getName() == null || recurringFee.getName().isBlank()) {
+            throw new RuntimeException("Recurring fee name is required");
+        }
+        if (recurringFee.getFrequency() == null) {
+            throw new RuntimeException("Recurring fee frequency is required");
+        }
+        if (recurringFee.getAmount() == null || recurringFee.getAmount() < 0) {
+            throw new RuntimeException("Recurring fee amount must not be negative");
+        }
+        if (recurringFee.getDueDay() == null || recurringFee.getDueDay() < 1 || recurringFee.getDueDay() > 31) {
+            throw new RuntimeException("Recurring fee due day must be between 1 and 31");
+        }
+        if (recurringFee.getStartDate() == null) {
+            throw new RuntimeException("Recurring fee start date is required");
+        }
+        if (recurringFee.getEndDate() != null && recurringFee.getEndDate().isBefore(recurringFee.getStartDate())) {
+            throw new RuntimeException("Recurring fee end date must not be before its start date");
+        }
+        return recurringFee;
+    }
+}
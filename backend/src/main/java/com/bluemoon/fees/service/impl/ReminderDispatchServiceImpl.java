@@ -0,0 +1,286 @@
+package com.bluemoon.fees.service.impl;
+
+import com.bluemoon.fees.config.ReminderDispatchProperties;
+import com.bluemoon.fees.dto.ReminderEnqueueResult;
+import com.bluemoon.fees.entity.RecurringFee;
+import com.bluemoon.fees.entity.ReminderMessage;
+import com.bluemoon.fees.entity.ReminderMessage.Status;
+import com.bluemoon.fees.reminder.ReminderTemplates;
+import com.bluemoon.fees.reminder.ReminderTransport;
+import com.bluemoon.fees.reminder.ReminderTransportException;
+import com.bluemoon.fees.repository.RecurringFeeRepository;
+import com.bluemoon.fees.repository.ReminderOutboxRepository;
+import com.bluemoon.fees.repository.ReminderOutboxRepository.Outcome;
+import com.bluemoon.fees.repository.ReminderOutboxRepository.Recipient;
+import com.bluemoon.fees.service.ReminderDispatchService;
+import com.bluemoon.fees.util.TokenBucket;
+import com.bluemoon.fees.util.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+@Service
+@Slf4j
+public class ReminderDispatchServiceImpl implements ReminderDispatchService {
+
+    private final ReminderDispatchProperties properties;
+    private final ReminderOutboxRepository outboxRepository;
+    private final RecurringFeeRepository recurringFeeRepository;
+    private final ReminderTemplates templates;
+    private final ExecutorService reminderDispatchExecutor;
+    private final MeterRegistry registry;
+    private final Map<String, ReminderTransport> transports = new LinkedHashMap<>();
+    private final Map<String, TokenBucket> rateLimits = new HashMap<>();
+    private final Map<String, Timer> deliveryTimers = new ConcurrentHashMap<>();
+    private final Semaphore wakeUp = new Semaphore(0);
+    private volatile Thread dispatcher;
+
+    public ReminderDispatchServiceImpl(ReminderDispatchProperties properties, ReminderOutboxRepository outboxRepository,
+                                       RecurringFeeRepository recurringFeeRepository, ReminderTemplates templates,
+                                       List<ReminderTransport> transports, ExecutorService reminderDispatchExecutor,
+                                       MeterRegistry registry) {
+        this.properties = properties;
+        this.outboxRepository = outboxRepository;
+        this.recurringFeeRepository = recurringFeeRepository;
+        this.templates = templates;
+        this.reminderDispatchExecutor = reminderDispatchExecutor;
+        this.registry = registry;
+        for (ReminderTransport transport : transports) {
+            ReminderDispatchProperties.Rate rate = properties.getRates()
+                    .getOrDefault(transport.name(), properties.getDefaultRate());
+            this.transports.put(transport.name(), transport);
+            this.rateLimits.put(transport.name(), new TokenBucket(rate.getBurst(), rate.getPerSecond()));
+        }
+    }
+
+    /** Starts draining the outbox, including messages left behind by a previous run. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled() || transports.isEmpty()) {
+            log.info("Resident reminders are not sent: {}",
+                    properties.isEnabled() ? "no transport is configured" : "disabled");
+            return;
+        }
+        dispatcher = new Thread(this::drain, "reminder-outbox");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+        log.info("Sending resident reminders over {}", transports.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = dispatcher;
+        if (current != null) {
+            dispatcher = null;
+            current.interrupt();
+        }
+    }
+
+    @Override
+    @Transactional
+    public ReminderEnqueueResult enqueueCharges(long recurringFeeId, LocalDate periodStart, boolean overdue) {
+        RecurringFee fee = recurringFeeRepository.findById(recurringFeeId)
+                .orElseThrow(() -> new RuntimeException("Recurring fee not found with id: " + recurringFeeId));
+        ReminderEnqueueResult.ReminderEnqueueResultBuilder result = ReminderEnqueueResult.builder()
+                .recurringFeeId(recurringFeeId)
+                .periodStart(periodStart)
+                .overdue(overdue);
+        if (!properties.isEnabled() || transports.isEmpty()) {
+            return result.build();
+        }
+
+        String prefix = (overdue ? "overdue" : "due-soon") + ":" + recurringFeeId + ":" + periodStart + ":";
+        Set<String> existing = outboxRepository.findDedupKeys(prefix);
+        List<Recipient> recipients = outboxRepository.findRecipients(recurringFeeId, periodStart);
+        String period = period(fee, periodStart);
+        List<ReminderMessage> messages = new ArrayList<>();
+        int skipped = 0;
+        for (Recipient recipient : recipients) {
+            ReminderTemplates.Message rendered = null;
+            for (ReminderTransport transport : transports.values()) {
+                String address = transport.recipient(recipient.email(), recipient.phoneNumber());
+                if (address == null) {
+                    continue;
+                }
+                String dedupKey = prefix + recipient.householdId() + ":" + transport.name();
+                if (existing.contains(dedupKey)) {
+                    skipped++;
+                    continue;
+                }
+                if (rendered == null) {
+                    rendered = templates.render(overdue, Map.of(
+                            "ownerName", recipient.ownerName(),
+                            "feeName", fee.getName(),
+                            "period", period,
+                            "dueDate", recipient.dueDate().toString(),
+                            "balance", money(recipient.outstanding() + recipient.penalty()),
+                            "penalty", money(recipient.penalty())));
+                }
+                messages.add(ReminderMessage.builder()
+                        .dedupKey(dedupKey)
+                        .householdId(recipient.householdId())
+                        .transport(transport.name())
+                        .recipient(address)
+                        .subject(rendered.subject())
+                        .body(rendered.body())
+                        .build());
+            }
+        }
+        // The read above only saves rendering; a concurrent enqueue is caught by the insert
+        int enqueued = messages.isEmpty() ? 0 : outboxRepository.insertPending(messages);
+        if (enqueued > 0) {
+            TransactionHooks.afterCommit(wakeUp::release);
+        }
+        return result.households(recipients.size())
+                .enqueued(enqueued)
+                .skipped(skipped + messages.size() - enqueued)
+                .build();
+    }
+
+    @Override
+    public Map<Status, Long> getOutboxCounts() {
+        return outboxRepository.countByStatus();
+    }
+
+    /**
+     * Sends batch after batch while the outbox is full, then sleeps until something is
+     * enqueued or the poll interval passes, which picks up retries and lapsed claims.
+     */
+    private void drain() {
+        long sent = 0;
+        long started = 0;
+        while (dispatcher == Thread.currentThread()) {
+            try {
+                if (sent == 0) {
+                    started = System.nanoTime();
+                }
+                int[] counts = dispatchBatch();
+                sent += counts[1];
+                if (counts[0] < properties.getBatchSize()) {
+                    if (sent > 0) {
+                        long elapsedMillis = Math.max((System.nanoTime() - started) / 1_000_000, 1);
+                        log.info("Delivered {} reminders in {} ms ({} per second)",
+                                sent, elapsedMillis, sent * 1000 / elapsedMillis);
+                        sent = 0;
+                    }
+                    wakeUp.tryAcquire(properties.getPollIntervalMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Reminder dispatch failed, retrying in {} ms", properties.getPollIntervalMillis(), e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(properties.getPollIntervalMillis()));
+            }
+        }
+    }
+
+    /** Claims and sends one batch; returns how many messages were claimed and how many were sent. */
+    private int[] dispatchBatch() throws InterruptedException {
+        LocalDateTime claimUntil = LocalDateTime.now().plusSeconds(properties.getClaimTimeoutSeconds());
+        List<ReminderMessage> batch = outboxRepository.claim(transports.keySet(), properties.getBatchSize(), claimUntil);
+        if (batch.isEmpty()) {
+            return new int[] {0, 0};
+        }
+        List<CompletableFuture<Outcome>> sends = new ArrayList<>(batch.size());
+        for (ReminderMessage message : batch) {
+            sends.add(CompletableFuture.supplyAsync(() -> send(message), reminderDispatchExecutor));
+        }
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        int sent = 0;
+        for (CompletableFuture<Outcome> send : sends) {
+            Outcome outcome = send.join();
+            outcomes.add(outcome);
+            if (outcome.status() == Status.SENT) {
+                sent++;
+            }
+        }
+        outboxRepository.complete(outcomes);
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        return new int[] {batch.size(), sent};
+    }
+
+    private Outcome send(ReminderMessage message) {
+        String name = message.getTransport();
+        TokenBucket rateLimit = rateLimits.get(name);
+        long wait;
+        while ((wait = rateLimit.tryConsume(1)) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+
+        long started = System.nanoTime();
+        Outcome outcome;
+        try {
+            transports.get(name).send(message.getRecipient(), message.getSubject(), message.getBody());
+            outcome = new Outcome(message.getId(), message.getClaimToken(), Status.SENT, null, null);
+        } catch (RuntimeException e) {
+            boolean permanent = e instanceof ReminderTransportException failure && failure.isPermanent();
+            String error = abbreviate(String.valueOf(e.getMessage()));
+            if (permanent || message.getAttempts() >= properties.getMaxAttempts()) {
+                log.warn("Giving up on reminder {} to {} after {} attempts: {}",
+                        message.getId(), message.getRecipient(), message.getAttempts(), error);
+                outcome = new Outcome(message.getId(), message.getClaimToken(), Status.FAILED, null, error);
+            } else {
+                log.debug("Reminder {} failed on attempt {}: {}", message.getId(), message.getAttempts(), error);
+                outcome = new Outcome(message.getId(), message.getClaimToken(), Status.PENDING,
+                        LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(backoff(message.getAttempts()))),
+                        error);
+            }
+        }
+        String result = switch (outcome.status()) {
+            case SENT -> "sent";
+            case PENDING -> "retry";
+            default -> "failed";
+        };
+        deliveryTimers.computeIfAbsent(name + ":" + result, key -> Timer.builder("bluemoon.reminders.delivery")
+                        .description("Reminder delivery attempts by transport and outcome")
+                        .tag("transport", name)
+                        .tag("outcome", result)
+                        .register(registry))
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return outcome;
+    }
+
+    /** Delay before the attempt after {@code attempts}, doubling each time. */
+    private long backoff(int attempts) {
+        double delay = properties.getBackoffMillis() * Math.pow(2, Math.max(attempts - 1, 0));
+        return (long) Math.min(delay, properties.getMaxBackoffMillis());
+    }
+
+    private static String period(RecurringFee fee, LocalDate periodStart) {
+        YearMonth start = YearMonth.from(periodStart);
+        YearMonth end = fee.getFrequency().periodEnd(start);
+        return start.equals(end) ? start.toString() : start + " to " + end;
+    }
+
+    private static String money(double amount) {
+        return String.format("%,.2f", amount);
+    }
+
+    private static String abbreviate(String error) {
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
@@ -0,0 +1,275 @@
+package com.bluemoon.fees.service.impl;
+
+import com.bluemoon.fees.config.ReminderProperties;
+import com.bluemoon.fees.entity.Fee;
+import com.bluemoon.fees.entity.Notification;
+import com.bluemoon.fees.entity.RecurringFee;
+import com.bluemoon.fees.monitoring.BusinessMetrics;
+import com.bluemoon.fees.repository.ChargeBatchRepository;
+import com.bluemoon.fees.repository.ChargeBatchRepository.ChargePeriod;
+import com.bluemoon.fees.repository.FeeRepository;
+import com.bluemoon.fees.repository.RecurringFeeRepository;
+import com.bluemoon.fees.service.NotificationService;
+import com.bluemoon.fees.service.ReminderDispatchService;
+import com.bluemoon.fees.service.ReminderService;
+import com.bluemoon.fees.service.UserService;
+import com.bluemoon.fees.util.HierarchicalTimingWheel;
+import com.bluemoon.fees.util.HierarchicalTimingWheel.Timeout;
+import com.bluemoon.fees.util.TransactionHooks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+@Service
+@Slf4j
+public class ReminderServiceImpl implements ReminderService {
+
+    /** A reminder for a fee, or for the charges of one recurring fee period when {@code charges} is set. */
+    private record Reminder(boolean overdue, boolean charges, long id, LocalDate periodStart, LocalDate dueDate) {
+    }
+
+    private record ChargeKey(long recurringFeeId, LocalDate periodStart) {
+    }
+
+    /** The due date a fee's reminders were scheduled for, kept after they fire. */
+    private record FeeReminders(LocalDate dueDate, List<Timeout> timeouts) {
+    }
+
+    private final ReminderProperties properties;
+    private final FeeRepository feeRepository;
+    private final RecurringFeeRepository recurringFeeRepository;
+    private final ChargeBatchRepository chargeBatchRepository;
+    private final NotificationService notificationService;
+    private final ReminderDispatchService reminderDispatchService;
+    private final UserService userService;
+    private final BusinessMetrics businessMetrics;
+    private final ExecutorService reminderExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final HierarchicalTimingWheel<Reminder> wheel;
+    private final Map<Long, FeeReminders> feeReminders = new ConcurrentHashMap<>();
+    private final Map<ChargeKey, List<Timeout>> chargeReminders = new ConcurrentHashMap<>();
+    private volatile Thread driver;
+
+    public ReminderServiceImpl(ReminderProperties properties, FeeRepository feeRepository,
+                               RecurringFeeRepository recurringFeeRepository, ChargeBatchRepository chargeBatchRepository,
+                               NotificationService notificationService, ReminderDispatchService reminderDispatchService,
+                               UserService userService, BusinessMetrics businessMetrics, ExecutorService reminderExecutor,
+                               PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.properties = properties;
+        this.feeRepository = feeRepository;
+        this.recurringFeeRepository = recurringFeeRepository;
+        this.chargeBatchRepository = chargeBatchRepository;
+        this.notificationService = notificationService;
+        this.reminderDispatchService = reminderDispatchService;
+        this.userService = userService;
+        this.businessMetrics = businessMetrics;
+        this.reminderExecutor = reminderExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.wheel = new HierarchicalTimingWheel<>(properties.getTickMillis(), properties.getWheelSize(),
+                System::currentTimeMillis);
+        Gauge.builder("bluemoon.reminders.pending", wheel, HierarchicalTimingWheel::size)
+                .description("Reminders waiting on the timing wheel")
+                .register(registry);
+    }
+
+    /**
+     * Schedules the reminders of active fees and of unsettled charges that are still to come.
+     * Reminders whose moment passed while the application was down are not replayed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (Fee fee : feeRepository.findByActiveTrue()) {
+            feeReminders.put(fee.getId(), new FeeReminders(fee.getDueDate(),
+                    schedule(fee.getId(), null, fee.getDueDate(), false)));
+        }
+        for (ChargePeriod period : chargeBatchRepository.findOpenChargePeriods(LocalDate.now().minusDays(1))) {
+            chargesGenerated(period.recurringFeeId(), period.periodStart(), period.dueDate());
+        }
+        driver = new Thread(this::drive, "reminder-wheel");
+        driver.setDaemon(true);
+        driver.start();
+        log.info("Scheduled {} due-date reminders", wheel.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = driver;
+        if (current != null) {
+            driver = null;
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Reschedules a fee whose due date changed or that became active. A due-soon reminder that
+     * is already late is then sent right away, as long as the due date has not passed.
+     */
+    @Override
+    public void feeChanged(Fee fee) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Long feeId = fee.getId();
+        LocalDate dueDate = fee.getDueDate();
+        boolean active = fee.isActive();
+        TransactionHooks.afterCommit(() -> {
+            if (!active) {
+                cancel(feeReminders.remove(feeId));
+                return;
+            }
+            feeReminders.compute(feeId, (id, current) -> {
+                if (current != null && current.dueDate().equals(dueDate)) {
+                    return current;
+                }
+                cancel(current);
+                return new FeeReminders(dueDate, schedule(feeId, null, dueDate, true));
+            });
+        });
+    }
+
+    @Override
+    public void feeRemoved(Long feeId) {
+        if (properties.isEnabled()) {
+            TransactionHooks.afterCommit(() -> cancel(feeReminders.remove(feeId)));
+        }
+    }
+
+    /**
+     * Called for every generated period; periods that are already scheduled are left alone. A
+     * period with nothing left to schedule, because its overdue reminder is past, is not kept.
+     */
+    @Override
+    public void chargesGenerated(Long recurringFeeId, LocalDate periodStart, LocalDate dueDate) {
+        if (properties.isEnabled()) {
+            chargeReminders.computeIfAbsent(new ChargeKey(recurringFeeId, periodStart), key -> {
+                List<Timeout> timeouts = schedule(recurringFeeId, periodStart, dueDate, false);
+                return timeouts.isEmpty() ? null : timeouts;
+            });
+        }
+    }
+
+    @Override
+    public int pendingReminders() {
+        return wheel.size();
+    }
+
+    private static void cancel(FeeReminders reminders) {
+        if (reminders != null) {
+            reminders.timeouts().forEach(Timeout::cancel);
+        }
+    }
+
+    /** Schedules both reminders of a fee, or of a charge period when {@code periodStart} is set. */
+    private List<Timeout> schedule(long id, LocalDate periodStart, LocalDate dueDate, boolean catchUp) {
+        boolean charges = periodStart != null;
+        long now = System.currentTimeMillis();
+        long dueSoonAt = fireTime(dueDate.minusDays(properties.getDueSoonDays()));
+        long overdueAt = fireTime(dueDate.plusDays(1));
+        List<Timeout> timeouts = new ArrayList<>(2);
+        if (dueSoonAt > now) {
+            schedule(dueSoonAt, new Reminder(false, charges, id, periodStart, dueDate), timeouts);
+        } else if (catchUp && !dueDate.isBefore(LocalDate.now())) {
+            dispatch(new Reminder(false, charges, id, periodStart, dueDate));
+        }
+        if (overdueAt > now) {
+            schedule(overdueAt, new Reminder(true, charges, id, periodStart, dueDate), timeouts);
+        }
+        return timeouts;
+    }
+
+    private void schedule(long at, Reminder reminder, List<Timeout> timeouts) {
+        Timeout timeout = wheel.schedule(at, reminder);
+        if (timeout != null) {
+            timeouts.add(timeout);
+        } else {
+            dispatch(reminder);
+        }
+    }
+
+    private long fireTime(LocalDate date) {
+        return date.atTime(properties.getSendAt()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void drive() {
+        while (driver == Thread.currentThread()) {
+            try {
+                wheel.poll(1_000).forEach(this::dispatch);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void dispatch(Reminder reminder) {
+        reminderExecutor.execute(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> fire(reminder));
+            } catch (RuntimeException e) {
+                log.warn("Reminder {} failed", reminder, e);
+            }
+        });
+    }
+
+    /** Checks that the reminder still applies, since the fee or its charges may have changed meanwhile. */
+    private void fire(Reminder reminder) {
+        if (reminder.charges()) {
+            if (reminder.overdue()) {
+                chargeReminders.remove(new ChargeKey(reminder.id(), reminder.periodStart()));
+            }
+            fireCharges(reminder);
+        } else {
+            fireFee(reminder);
+        }
+    }
+
+    private void fireFee(Reminder reminder) {
+        Fee fee = feeRepository.findByIdAndActiveTrue(reminder.id()).orElse(null);
+        if (fee == null || !reminder.dueDate().equals(fee.getDueDate())) {
+            return;
+        }
+        String title = reminder.overdue() ? "Fee Overdue" : "Fee Due Soon";
+        String message = reminder.overdue()
+                ? String.format("Fee '%s' was due on %s", fee.getName(), fee.getDueDate())
+                : String.format("Fee '%s' is due on %s", fee.getName(), fee.getDueDate());
+        notificationService.createNotification(title, message, Notification.EntityType.FEE, fee.getId(),
+                userService.findAdminUser());
+        businessMetrics.reminderFired(reminder.overdue());
+    }
+
+    private void fireCharges(Reminder reminder) {
+        // A deactivated recurring fee keeps its scheduled reminders, which then fire as no-ops
+        RecurringFee fee = recurringFeeRepository.findById(reminder.id()).filter(RecurringFee::isActive).orElse(null);
+        long unpaid = fee == null ? 0 : chargeBatchRepository.countUnpaidCharges(reminder.id(), reminder.periodStart());
+        if (unpaid == 0) {
+            return;
+        }
+        String title = reminder.overdue() ? "Charges Overdue" : "Charges Due Soon";
+        String message = reminder.overdue()
+                ? String.format("%d households have not paid '%s' for the period starting %s, due on %s",
+                        unpaid, fee.getName(), reminder.periodStart(), reminder.dueDate())
+                : String.format("%d households have yet to pay '%s' for the period starting %s, due on %s",
+                        unpaid, fee.getName(), reminder.periodStart(), reminder.dueDate());
+        // Recurring fees have no page of their own, so the notification leads to the fee list
+        notificationService.createNotification(title, message, Notification.EntityType.FEE, null,
+                userService.findAdminUser());
+        reminderDispatchService.enqueueCharges(reminder.id(), reminder.periodStart(), reminder.overdue());
+        businessMetrics.reminderFired(reminder.overdue());
+    }
+}
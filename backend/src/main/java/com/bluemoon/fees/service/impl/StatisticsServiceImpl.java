@@ -0,0 +1,107 @@
+package com.bluemoon.fees.service.impl;
+
+import com.bluemoon.fees.dto.FeeArrears;
+import com.bluemoon.fees.dto.PaymentTotals;
+import com.bluemoon.fees.entity.Fee;
+import com.bluemoon.fees.entity.FeePrice;
+import com.bluemoon.fees.service.FeePriceService;
+import com.bluemoon.fees.service.FeeService;
+import com.bluemoon.fees.service.HouseholdService;
+import com.bluemoon.fees.service.PaymentService;
+import com.bluemoon.fees.service.StatisticsService;
+import com.bluemoon.fees.util.Bulkhead;
+import com.bluemoon.fees.util.SingleFlight;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@RequiredArgsConstructor
+public class StatisticsServiceImpl implements StatisticsService {
+
+    private final Bulkhead statisticsBulkhead;
+    private final SingleFlight statisticsSingleFlight;
+    private final HouseholdService householdService;
+    private final FeeService feeService;
+    private final FeePriceService feePriceService;
+    private final PaymentService paymentService;
+
+    // Identical concurrent requests share one computation; results do not depend on the caller
+    @Override
+    public CompletableFuture<Map<String, Object>> getHouseholdStatistics(Long householdId) {
+        return statisticsSingleFlight.execute("household:" + householdId, () -> computeHouseholdStatistics(householdId));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> getFeeStatistics(Long feeId) {
+        return statisticsSingleFlight.execute("fee:" + feeId, () -> computeFeeStatistics(feeId));
+    }
+
+    @Override
+    public CompletableFuture<Double> getTotalByHousehold(Long householdId) {
+        return statisticsSingleFlight.execute("total:household:" + householdId, () ->
+                statisticsBulkhead.submit(() -> paymentService.calculateTotalPaymentsByHousehold(householdId)));
+    }
+
+    @Override
+    public CompletableFuture<Double> getTotalByFee(Long feeId) {
+        return statisticsSingleFlight.execute("total:fee:" + feeId, () ->
+                statisticsBulkhead.submit(() -> paymentService.calculateTotalPaymentsByFee(feeId)));
+    }
+
+    @Override
+    public CompletableFuture<Double> getTotalByDateRange(LocalDate startDate, LocalDate endDate) {
+        return statisticsSingleFlight.execute("total:dateRange:" + startDate + ".." + endDate, () ->
+                statisticsBulkhead.submit(() -> paymentService.calculateTotalPaymentsByDateRange(startDate, endDate)));
+    }
+
+    // The existence check and the aggregate run in parallel, each in its own read-only transaction
+    private CompletableFuture<Map<String, Object>> computeHouseholdStatistics(Long householdId) {
+        CompletableFuture<Boolean> exists = statisticsBulkhead.submit(() -> householdService.existsById(householdId));
+        CompletableFuture<PaymentTotals> totals = statisticsBulkhead.submit(() -> paymentService.getTotalsByHousehold(householdId));
+        CompletableFuture<FeeArrears> arrears = statisticsBulkhead.submit(() -> paymentService.getArrearsByHousehold(householdId));
+        return exists.thenCombine(totals, (found, t) -> {
+            if (!found) {
+                throw new RuntimeException("Household not found with id: " + householdId);
+            }
+            return t;
+        }).thenCombine(arrears, (t, a) -> {
+            double verifiedPercentage = t.getCount() == 0 ? 0 : (t.getVerifiedCount() * 100.0) / t.getCount();
+            return Map.of(
+                    "totalPayments", t.getCount(),
+                    "totalPaid", t.getTotal(),
+                    "verifiedCount", t.getVerifiedCount(),
+                    "verifiedPercentage", verifiedPercentage,
+                    "amountDue", a.getAmountDue(),
+                    "outstanding", a.getOutstanding()
+            );
+        });
+    }
+
+    private CompletableFuture<Map<String, Object>> computeFeeStatistics(Long feeId) {
+        CompletableFuture<Fee> fee = statisticsBulkhead.submit(() -> feeService.findById(feeId)
+                .orElseThrow(() -> new RuntimeException("Fee not found with id: " + feeId)));
+        CompletableFuture<PaymentTotals> totals = statisticsBulkhead.submit(() -> paymentService.getTotalsByFee(feeId));
+        CompletableFuture<FeeArrears> arrears = statisticsBulkhead.submit(() -> paymentService.getArrearsByFee(feeId));
+        return CompletableFuture.allOf(fee, totals, arrears).thenApply(done -> {
+            Fee f = fee.join();
+            PaymentTotals t = totals.join();
+            FeeArrears a = arrears.join();
+            // The fee itself shows its latest price, which may only take effect later
+            double amountToday = feePriceService.findPrice(feeId, LocalDate.now())
+                    .map(FeePrice::getAmount)
+                    .orElse(f.getAmount());
+            return Map.of(
+                    "totalPayments", t.getCount(),
+                    "totalCollected", t.getTotal(),
+                    "feeAmount", amountToday,
+                    "feeName", f.getName(),
+                    "amountDue", a.getAmountDue(),
+                    "outstanding", a.getOutstanding()
+            );
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package com.bluemoon.fees.service.impl;
+
+import com.bluemoon.fees.dto.PaymentList;
+import com.bluemoon.fees.dto.SyncResponse;
+import com.bluemoon.fees.entity.Tombstone;
+import com.bluemoon.fees.repository.ChangeLogRepository;
+import com.bluemoon.fees.repository.FeeRepository;
+import com.bluemoon.fees.repository.HouseholdRepository;
+import com.bluemoon.fees.repository.PaymentRepository;
+import com.bluemoon.fees.repository.TombstoneRepository;
+import com.bluemoon.fees.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class SyncServiceImpl implements SyncService {
+
+    private final ChangeLogRepository changeLog;
+    private final TombstoneRepository tombstoneRepository;
+    private final HouseholdRepository householdRepository;
+    private final FeeRepository feeRepository;
+    private final PaymentRepository paymentRepository;
+
+    @Value("${sync.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SyncResponse changesSince(long since) {
+        if (since < 0) {
+            throw new RuntimeException("since must not be negative");
+        }
+        // Only sequences no transaction in flight can still fill in are safe to hand out; changes
+        // above it are sent now and again next time, whereas a later mark could skip them for good
+        long version = changeLog.safeSeq();
+        if (since == 0 || since < changeLog.prunedThrough()) {
+            return SyncResponse.builder()
+                    .version(version)
+                    .reset(true)
+                    .households(householdRepository.findAll())
+                    .fees(feeRepository.findAll())
+                    .payments(new PaymentList(paymentRepository.findAllWithHouseholdAndFee()))
+                    .deleted(SyncResponse.Deleted.builder()
+                            .households(List.of()).fees(List.of()).payments(List.of()).build())
+                    .build();
+        }
+
+        List<Tombstone> tombstones = tombstoneRepository.findByChangeSeqGreaterThan(since);
+        return SyncResponse.builder()
+                // A lagging replica can be behind the client; it has nothing newer to offer then
+                .version(Math.max(version, since))
+                .households(householdRepository.findByChangeSeqGreaterThan(since))
+                .fees(feeRepository.findByChangeSeqGreaterThan(since))
+                .payments(new PaymentList(paymentRepository.findChangedSinceWithHouseholdAndFee(since)))
+                .deleted(SyncResponse.Deleted.builder()
+                        .households(deletedIds(tombstones, Tombstone.EntityType.HOUSEHOLD))
+                        .fees(deletedIds(tombstones, Tombstone.EntityType.FEE))
+                        .payments(deletedIds(tombstones, Tombstone.EntityType.PAYMENT))
+                        .build())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void continueLegacySequence() {
+        changeLog.continueLegacySequence();
+    }
+
+    /**
+     * Drops tombstones past the retention period, whose clients get a reset, and change log rows
+     * no longer needed for the safe sequence.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${sync.tombstone-purge-interval-ms:3600000}",
+            initialDelayString = "${sync.tombstone-purge-interval-ms:3600000}")
+    public int pruneTombstones() {
+        int logRows = changeLog.pruneLog();
+        log.debug("Pruned {} change log rows", logRows);
+        Long through = tombstoneRepository.findMaxChangeSeqDeletedBefore(
+                LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (through == null) {
+            return 0;
+        }
+        changeLog.markPruned(through);
+        int deleted = tombstoneRepository.deleteThrough(through);
+        log.debug("Pruned {} tombstones through change {}", deleted, through);
+        return deleted;
+    }
+
+    private static List<Long> deletedIds(List<Tombstone> tombstones, Tombstone.EntityType type) {
+        return tombstones.stream()
+                .filter(tombstone -> tombstone.getEntityType() == type)
+                .map(Tombstone::getEntityId)
+                .toList();
+    }
+}
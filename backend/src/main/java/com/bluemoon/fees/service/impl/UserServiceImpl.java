@@ -1,27 +1,40 @@
 package com.bluemoon.fees.service.impl;
 
+import com.bluemoon.fees.datasource.ReplicaRoutingDataSource;
 import com.bluemoon.fees.entity.User;
 import com.bluemoon.fees.repository.UserRepository;
+import com.bluemoon.fees.security.TokenVersionRegistry;
 import com.bluemoon.fees.service.UserService;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionRegistry tokenVersions;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           TokenVersionRegistry tokenVersions, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenVersions = tokenVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
     public User save(User entity) {
@@ -34,11 +47,13 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return userRepository.findAll();
     }
@@ -46,14 +61,17 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteById(Long id) {
         userRepository.deleteById(id);
+        tokenVersions.evict(id);
     }
 
     @Override
     public void delete(User entity) {
         userRepository.delete(entity);
+        tokenVersions.evict(entity.getId());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         return userRepository.existsById(id);
     }
@@ -63,16 +81,18 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByUsername(username);
     }
 
+    // Hashes between the duplicate checks and the insert, so no transaction waits on the hashing pool
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User createUser(User user) {
-        if (existsByUsername(user.getUsername())) {
+        if (userRepository.existsByUsername(user.getUsername())) {
             throw new RuntimeException("Username already exists");
         }
-        if (existsByEmail(user.getEmail())) {
+        if (userRepository.existsByEmail(user.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return save(user);
+        return transactionTemplate.execute(status -> userRepository.save(user));
     }
 
     @Override
@@ -88,38 +108,87 @@ public class UserServiceImpl implements UserService {
             throw new RuntimeException("Email already exists");
         }
 
+        boolean privilegesChanged = !existingUser.getUsername().equals(user.getUsername())
+                || !existingUser.getRole().equals(user.getRole())
+                || existingUser.isEnabled() != user.isEnabled();
+
         existingUser.setUsername(user.getUsername());
         existingUser.setEmail(user.getEmail());
         existingUser.setFullName(user.getFullName());
         existingUser.setRole(user.getRole());
         existingUser.setEnabled(user.isEnabled());
 
+        if (privilegesChanged) {
+            tokenVersions.revoke(existingUser);
+        }
+
         return save(existingUser);
     }
 
+    /**
+     * Hashes outside any transaction, as login does, so no connection is held while waiting for
+     * the hashing pool; the new hash is then written in a short transaction of its own.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void changePassword(Long id, String oldPassword, String newPassword) {
-        User user = findById(id)
+        String currentHash = ReplicaRoutingDataSource.onPrimary(() -> userRepository.findById(id))
+                .map(User::getPassword)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+        if (!passwordEncoder.matches(oldPassword, currentHash)) {
             throw new RuntimeException("Old password is incorrect");
         }
+        String newHash = passwordEncoder.encode(newPassword);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            // The old password was checked against this hash; a change made since then wins
+            if (!currentHash.equals(user.getPassword())) {
+                throw new RuntimeException("Password was changed concurrently, please retry");
+            }
+            user.setPassword(newHash);
+            tokenVersions.revoke(user);
+            userRepository.save(user);
+        });
+    }
+
+    @Override
+    public void updateRole(Long id, String role) {
+        User user = findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        if (!role.equals(user.getRole())) {
+            user.setRole(role);
+            tokenVersions.revoke(user);
+            save(user);
+        }
+    }
 
-        user.setPassword(passwordEncoder.encode(newPassword));
-        save(user);
+    @Override
+    public void updateStatus(Long id, boolean enabled) {
+        User user = findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        if (enabled != user.isEnabled()) {
+            user.setEnabled(enabled);
+            tokenVersions.revoke(user);
+            save(user);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
         return userRepository.existsByUsername(username);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
 
+    // Authentication reads stay on the primary so a new password or role is seen immediately
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = findByUsername(username)
@@ -137,6 +206,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User findAdminUser() {
         return userRepository.findByRole("ADMIN")
                 .orElseThrow(() -> new RuntimeException("No admin user found"));
@@ -0,0 +1,85 @@
+package com.bluemoon.fees.util;
+
+import com.bluemoon.fees.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * A fixed pool with a bounded queue that keeps one kind of work from taking over shared
+ * threads and connections. Each task holds at most one JDBC connection, so the thread count is
+ * also the work's connection budget. When the queue is full, callers are rejected at once with
+ * {@link TooManyRequestsException}; tasks that do not finish within the timeout fail the same way.
+ * The caller's security context is carried over to the pool threads.
+ */
+public class Bulkhead implements DisposableBean {
+
+    private final String name;
+    private final ExecutorService executor;
+    private final ExecutorService pool;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final Counter rejections;
+    private final Counter timeouts;
+
+    public Bulkhead(String name, int threads, int queueCapacity, long timeoutMillis, long retryAfterSeconds,
+                    MeterRegistry registry) {
+        this.name = name;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.pool = ExecutorServiceMetrics.monitor(registry, new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory(name + "-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        ), name);
+        this.executor = new DelegatingSecurityContextExecutorService(pool);
+        this.rejections = registry.counter("bluemoon.bulkhead.rejected", Tags.of("name", name, "reason", "full"));
+        this.timeouts = registry.counter("bluemoon.bulkhead.rejected", Tags.of("name", name, "reason", "timeout"));
+    }
+
+    /**
+     * Queues {@code work} on the bulkhead. Throws {@link TooManyRequestsException} right away when
+     * the queue is full; the returned future fails with it when the timeout passes first.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new TooManyRequestsException("Too many concurrent " + name + " requests, please retry shortly",
+                    retryAfterSeconds);
+        }
+        return future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).exceptionally(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof TimeoutException) {
+                timeouts.increment();
+                throw new TooManyRequestsException(name + " request timed out, please retry shortly", retryAfterSeconds);
+            }
+            throw ex instanceof CompletionException completion ? completion : new CompletionException(cause);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
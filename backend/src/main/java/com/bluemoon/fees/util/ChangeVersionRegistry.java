@@ -0,0 +1,80 @@
+package com.bluemoon.fees.util;
+
+import com.bluemoon.fees.entity.Tombstone.EntityType;
+import com.bluemoon.fees.repository.ChangeLogRepository;
+import com.bluemoon.fees.repository.ChangeLogRepository.LogState;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET for responses built from change-tracked tables. The ETag is read from the
+ * change log in the same read-only transaction as the body, so both come from the same database,
+ * primary or replica, and any instance hands out the same tag for the same data. A client whose
+ * copy is current gets 304 after one small query.
+ * <p>
+ * The tag combines the lowest sequence still in the log with the number and highest sequence of
+ * the log rows for the response's tables. Every committed change adds a row, including one that
+ * commits after a change with a later sequence, and pruning raises the lowest sequence, so the
+ * tag changes whenever the data may have. Rolled back writes leave no row.
+ * <p>
+ * Tags are weak: Tomcat will not gzip a response carrying a strong ETag, and If-None-Match
+ * uses weak comparison anyway.
+ */
+@Component
+public class ChangeVersionRegistry {
+
+    private final ChangeLogRepository changeLog;
+    private final TransactionTemplate readOnly;
+
+    public ChangeVersionRegistry(ChangeLogRepository changeLog, PlatformTransactionManager transactionManager) {
+        this.changeLog = changeLog;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Answers 304 when the client's copy of data from {@code types} is current, and otherwise 200
+     * with the body. Returns {@code null} for a 304, which the handler passes on as is.
+     */
+    public <T> ResponseEntity<T> respond(WebRequest request, Supplier<T> body, EntityType... types) {
+        return readOnly.execute(status -> {
+            Snapshot version = snapshot(changeLog.state(List.of(types)));
+            if (request.checkNotModified(version.etag(), version.lastModified())) {
+                return null;
+            }
+            return version.ok(body.get());
+        });
+    }
+
+    private static Snapshot snapshot(LogState state) {
+        String etag = "W/\"" + Long.toString(state.lowestSeq(), 36) + "-" + Long.toString(state.highestSeq(), 36)
+                + "-" + Long.toString(state.rows(), 36) + "\"";
+        long lastModified = state.lastChange() != null
+                ? state.lastChange().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        return new Snapshot(etag, lastModified);
+    }
+
+    private record Snapshot(String etag, long lastModified) {
+
+        /**
+         * A 200 that the browser may keep but must revalidate before reuse. The tag is shared by
+         * the JSON and binary encodings, so caches must key on {@code Accept} as well.
+         */
+        <T> ResponseEntity<T> ok(T body) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(body);
+        }
+    }
+}
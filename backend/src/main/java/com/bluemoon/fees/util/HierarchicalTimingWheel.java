@@ -0,0 +1,221 @@
+package com.bluemoon.fees.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel holding payloads until a deadline in epoch milliseconds. Each level
+ * has {@code wheelSize} buckets; a level's whole span is one bucket of the next, coarser level,
+ * which is created on demand. Scheduling and cancelling are O(1): a timeout is linked into the
+ * bucket of the finest level whose span covers its deadline.
+ * <p>
+ * Only buckets that hold something are queued by expiration, so an idle wheel does not tick.
+ * When a coarse bucket comes due its timeouts move down into finer levels, and are returned by
+ * {@link #poll} once their own bucket expires. Deadlines are honoured to within one tick.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    /** A scheduled payload. */
+    public final class Timeout {
+        private final long deadline;
+        private final T payload;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        /** Removes the timeout from the wheel; false if it has already fired or been cancelled. */
+        public boolean cancel() {
+            synchronized (HierarchicalTimingWheel.this) {
+                if (bucket == null) {
+                    return false;
+                }
+                bucket.remove(this);
+                size--;
+                return true;
+            }
+        }
+    }
+
+    /** Circular list of timeouts sharing one expiration, with a sentinel head. */
+    private final class Bucket implements Delayed {
+        private final Timeout head = new Timeout(0, null);
+        private long expiration = -1;
+
+        Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = head.prev;
+            timeout.next = head;
+            head.prev.next = timeout;
+            head.prev = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        /** True when the expiration changed, so the bucket has to be queued again. */
+        boolean setExpiration(long expiration) {
+            if (this.expiration == expiration) {
+                return false;
+            }
+            this.expiration = expiration;
+            return true;
+        }
+
+        List<Timeout> drain() {
+            List<Timeout> drained = new ArrayList<>();
+            for (Timeout timeout = head.next; timeout != head; ) {
+                Timeout next = timeout.next;
+                remove(timeout);
+                drained.add(timeout);
+                timeout = next;
+            }
+            expiration = -1;
+            return drained;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(expiration - clock.getAsLong(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration, ((Bucket) other).expiration);
+        }
+    }
+
+    private final class Level {
+        private final long tick;
+        private final long interval;
+        private final List<Bucket> buckets;
+        private long currentTime;
+        private Level overflow;
+
+        Level(long tick, long startTime) {
+            this.tick = tick;
+            this.interval = tick * wheelSize;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new Bucket());
+            }
+            this.currentTime = startTime - startTime % tick;
+        }
+
+        /** False when the deadline falls within the current tick, i.e. it has expired. */
+        boolean add(Timeout timeout) {
+            long deadline = timeout.deadline;
+            if (deadline < currentTime + tick) {
+                return false;
+            }
+            if (deadline < currentTime + interval) {
+                long virtualId = deadline / tick;
+                Bucket bucket = buckets.get((int) (virtualId % wheelSize));
+                bucket.add(timeout);
+                if (bucket.setExpiration(virtualId * tick)) {
+                    queue.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, currentTime);
+            }
+            return overflow.add(timeout);
+        }
+
+        void advance(long time) {
+            if (time >= currentTime + tick) {
+                currentTime = time - time % tick;
+                if (overflow != null) {
+                    overflow.advance(currentTime);
+                }
+            }
+        }
+    }
+
+    private final int wheelSize;
+    private final LongSupplier clock;
+    private final DelayQueue<Bucket> queue = new DelayQueue<>();
+    private final Level root;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, LongSupplier clock) {
+        if (tickMillis <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel must have at least two buckets");
+        }
+        this.wheelSize = wheelSize;
+        this.clock = clock;
+        this.root = new Level(tickMillis, clock.getAsLong());
+    }
+
+    /**
+     * Schedules {@code payload} for {@code deadline}.
+     *
+     * @return the timeout, or null when the deadline falls within the current tick; the caller
+     *         should act on the payload right away
+     */
+    public synchronized Timeout schedule(long deadline, T payload) {
+        Timeout timeout = new Timeout(deadline, payload);
+        if (!root.add(timeout)) {
+            return null;
+        }
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Waits up to {@code maxWaitMillis} for the next bucket to come due and returns the payloads
+     * that expired with it, or with any other bucket due by then. Meant for a single thread.
+     */
+    public List<T> poll(long maxWaitMillis) throws InterruptedException {
+        Bucket bucket = queue.poll(maxWaitMillis, TimeUnit.MILLISECONDS);
+        if (bucket == null) {
+            return List.of();
+        }
+        List<T> expired = new ArrayList<>();
+        synchronized (this) {
+            while (bucket != null) {
+                root.advance(bucket.expiration);
+                for (Timeout timeout : bucket.drain()) {
+                    // Timeouts of a coarse bucket move down a level unless they are due now
+                    if (!root.add(timeout)) {
+                        size--;
+                        expired.add(timeout.payload);
+                    }
+                }
+                bucket = queue.poll();
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
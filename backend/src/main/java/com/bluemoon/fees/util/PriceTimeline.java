@@ -0,0 +1,52 @@
+package com.bluemoon.fees.util;
+
+import com.bluemoon.fees.entity.FeePrice;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval index over the price versions of one fee. Interval starts are kept as
+ * sorted epoch days, so finding the version in effect on a date is a binary search.
+ */
+public final class PriceTimeline {
+
+    private static final long OPEN = Long.MAX_VALUE;
+
+    private final long[] fromDays;
+    private final long[] toDays;
+    private final FeePrice[] versions;
+
+    private PriceTimeline(FeePrice[] versions) {
+        this.versions = versions;
+        this.fromDays = new long[versions.length];
+        this.toDays = new long[versions.length];
+        for (int i = 0; i < versions.length; i++) {
+            fromDays[i] = versions[i].getEffectiveFrom().toEpochDay();
+            toDays[i] = versions[i].getEffectiveTo() != null ? versions[i].getEffectiveTo().toEpochDay() : OPEN;
+        }
+    }
+
+    public static PriceTimeline of(List<FeePrice> versions) {
+        FeePrice[] sorted = versions.toArray(FeePrice[]::new);
+        Arrays.sort(sorted, Comparator.comparing(FeePrice::getEffectiveFrom));
+        return new PriceTimeline(sorted);
+    }
+
+    /** The version in effect on {@code date}, or null if the date falls outside every version. */
+    public FeePrice at(LocalDate date) {
+        long day = date.toEpochDay();
+        int i = Arrays.binarySearch(fromDays, day);
+        if (i < 0) {
+            // Last interval starting before the date
+            i = -i - 2;
+        }
+        return i >= 0 && day < toDays[i] ? versions[i] : null;
+    }
+
+    public List<FeePrice> versions() {
+        return List.of(versions);
+    }
+}
@@ -0,0 +1,93 @@
+package com.bluemoon.fees.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one computation: the first caller runs the
+ * loader and everyone arriving while it is in flight gets the same result. With a non-zero cache
+ * window, a successful result is also handed out for that long after it completes. Failures are
+ * never cached. Only use it for results that do not depend on who is asking.
+ */
+public class SingleFlight {
+
+    // Expired cache entries are swept once the map grows past this many keys
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private final long cacheWindowNanos;
+    private final Map<Object, Flight> flights = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter joined;
+    private final Counter cached;
+
+    public SingleFlight(String name, Duration cacheWindow, MeterRegistry registry) {
+        this.cacheWindowNanos = cacheWindow.toNanos();
+        this.executed = registry.counter("bluemoon.singleflight.calls", Tags.of("name", name, "outcome", "executed"));
+        this.joined = registry.counter("bluemoon.singleflight.calls", Tags.of("name", name, "outcome", "joined"));
+        this.cached = registry.counter("bluemoon.singleflight.calls", Tags.of("name", name, "outcome", "cached"));
+    }
+
+    /**
+     * Returns the in-flight or cached result for {@code key}, or starts {@code loader} when there
+     * is none. Each caller gets its own copy of the future, so cancelling one does not affect others.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> CompletableFuture<V> execute(Object key, Supplier<CompletableFuture<V>> loader) {
+        long now = System.nanoTime();
+        Flight[] started = new Flight[1];
+        Flight flight = flights.compute(key, (k, current) -> {
+            if (current != null && current.isUsable(now)) {
+                return current;
+            }
+            started[0] = new Flight();
+            return started[0];
+        });
+
+        if (started[0] == null) {
+            (flight.result.isDone() ? cached : joined).increment();
+            return (CompletableFuture<V>) flight.result.copy();
+        }
+
+        executed.increment();
+        if (flights.size() > SWEEP_THRESHOLD) {
+            flights.values().removeIf(f -> f.result.isDone() && !f.isUsable(now));
+        }
+        CompletableFuture<V> source;
+        try {
+            source = loader.get();
+        } catch (RuntimeException e) {
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+        source.whenComplete((value, ex) -> {
+            if (ex != null || cacheWindowNanos == 0) {
+                flights.remove(key, flight);
+            } else {
+                flight.expiresAt = System.nanoTime() + cacheWindowNanos;
+            }
+            if (ex != null) {
+                flight.result.completeExceptionally(ex);
+            } else {
+                flight.result.complete(value);
+            }
+        });
+        return (CompletableFuture<V>) flight.result.copy();
+    }
+
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        volatile long expiresAt;
+
+        boolean isUsable(long now) {
+            return !result.isDone() || (!result.isCompletedExceptionally() && now - expiresAt < 0);
+        }
+    }
+}
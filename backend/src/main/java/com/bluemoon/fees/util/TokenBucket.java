@@ -0,0 +1,48 @@
+package com.bluemoon.fees.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm: the whole state is a
+ * single "theoretical arrival time" updated with compare-and-set, so concurrent callers never
+ * block each other. Equivalent to a bucket of {@code capacity} tokens refilled at
+ * {@code refillPerSecond}.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double capacity, double refillPerSecond) {
+        this.nanosPerToken = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = (long) (capacity * nanosPerToken);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes {@code cost} tokens if available.
+     *
+     * @return 0 when the tokens were taken, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryConsume(int cost) {
+        long increment = cost * nanosPerToken;
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + increment;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** True when the bucket has been full and untouched for at least {@code idleNanos}. */
+    public boolean isIdle(long idleNanos) {
+        return System.nanoTime() - theoreticalArrival.get() > idleNanos;
+    }
+}
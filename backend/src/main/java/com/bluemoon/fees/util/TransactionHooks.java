@@ -0,0 +1,28 @@
+package com.bluemoon.fees.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects such as cache updates or metrics until the surrounding transaction has
+ * committed, so a rollback leaves no trace of them.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /** Runs the action after commit, or immediately when no transaction is active. */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
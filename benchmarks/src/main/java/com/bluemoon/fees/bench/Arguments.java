@@ -0,0 +1,62 @@
+package com.bluemoon.fees.bench;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal {@code --key=value} parser for the command-line tools in this module.
+ */
+final class Arguments {
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    private Arguments() {
+    }
+
+    static Arguments parse(String[] args) {
+        Arguments arguments = new Arguments();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                arguments.values.put(arg.substring(2), "true");
+            } else {
+                arguments.values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return arguments;
+    }
+
+    boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    String string(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int integer(String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key).replace("_", "")) : defaultValue;
+    }
+
+    long longValue(String key, long defaultValue) {
+        return values.containsKey(key) ? Long.parseLong(values.get(key).replace("_", "")) : defaultValue;
+    }
+
+    /** Durations as {@code 30s}, {@code 5m} or plain seconds. */
+    long seconds(String key, long defaultValue) {
+        String value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.endsWith("m")) {
+            return Long.parseLong(value.substring(0, value.length() - 1)) * 60;
+        }
+        if (value.endsWith("s")) {
+            return Long.parseLong(value.substring(0, value.length() - 1));
+        }
+        return Long.parseLong(value);
+    }
+}
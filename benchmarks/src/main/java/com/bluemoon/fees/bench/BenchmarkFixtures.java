@@ -0,0 +1,151 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.entity.Fee;
+import com.bluemoon.fees.entity.Household;
+import com.bluemoon.fees.entity.Payment;
+import com.bluemoon.fees.entity.User;
+import com.bluemoon.fees.repository.RevokedTokenRepository;
+import com.bluemoon.fees.repository.UserRepository;
+import com.bluemoon.fees.security.JwtAuthenticationFilter;
+import com.bluemoon.fees.security.JwtService;
+import com.bluemoon.fees.security.TokenRevocationService;
+import com.bluemoon.fees.security.TokenVersionRegistry;
+import com.bluemoon.fees.service.UserService;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * Builds backend components outside a Spring context so micro benchmarks measure only
+ * the code path under test.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String SECRET = "bluemoon-benchmark-secret-key-that-is-long-enough-for-hs256";
+    public static final long EXPIRATION_MS = 24 * 60 * 60 * 1000L;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static JwtService jwtService(boolean validationCache) {
+        JwtService jwtService = new JwtService();
+        DirectFieldAccessor fields = new DirectFieldAccessor(jwtService);
+        fields.setPropertyValue("secretKey", SECRET);
+        fields.setPropertyValue("jwtExpiration", EXPIRATION_MS);
+        fields.setPropertyValue("validationCacheEnabled", validationCache);
+        fields.setPropertyValue("validationCacheMaxEntries", 10_000);
+
+        invokeLifecycle(jwtService, "init");
+        return jwtService;
+    }
+
+    /** Detached payments spread over 50 households and 10 fees, as a list endpoint returns them. */
+    public static List<Payment> samplePayments(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Household> households = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            Household household = new Household();
+            household.setId(i);
+            household.setOwnerName("Nguyen Van " + i);
+            household.setAddress("Block A, Room " + (100 + i));
+            households.add(household);
+        }
+        List<Fee> fees = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            Fee fee = new Fee();
+            fee.setId(i);
+            fee.setName("Service fee " + i);
+            fee.setAmount(100_000.0 * i);
+            fees.add(fee);
+        }
+
+        List<Payment> payments = new ArrayList<>(size);
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (long i = 1; i <= size; i++) {
+            Payment payment = new Payment();
+            payment.setId(i);
+            payment.setHousehold(households.get(random.nextInt(households.size())));
+            payment.setFee(fees.get(random.nextInt(fees.size())));
+            payment.setPaymentDate(start.plusDays(random.nextInt(365)));
+            payment.setAmount(payment.getFee().getAmount());
+            payment.setAmountPaid(payment.getFee().getAmount());
+            payment.setVerified(random.nextBoolean());
+            payments.add(payment);
+        }
+        return payments;
+    }
+
+    public static User user(String username, String role) {
+        return User.builder()
+                .id(1L)
+                .username(username)
+                .password("{noop}password")
+                .role(role)
+                .enabled(true)
+                .build();
+    }
+
+    public static JwtAuthenticationFilter jwtFilter(JwtService jwtService, User user) {
+        UserRepository userRepository = stub(UserRepository.class, (method, args) ->
+                user.getId().equals(args[0]) ? Optional.of(user) : Optional.empty());
+        TokenRevocationService revocation = new TokenRevocationService(
+                stub(RevokedTokenRepository.class, (method, args) -> List.of()));
+        DirectFieldAccessor fields = new DirectFieldAccessor(revocation);
+        fields.setPropertyValue("expectedEntries", 100_000L);
+        fields.setPropertyValue("falsePositiveRate", 0.001);
+        invokeLifecycle(revocation, "loadDenylist");
+
+        return new JwtAuthenticationFilter(
+                jwtService,
+                inMemoryUserService(user),
+                new TokenVersionRegistry(userRepository),
+                revocation);
+    }
+
+    /**
+     * A {@link UserService} that answers {@code findByUsername} from memory, standing in
+     * for the database lookup the filter performs.
+     */
+    public static UserService inMemoryUserService(User user) {
+        return stub(UserService.class, (method, args) -> {
+            if (method.getName().equals("findByUsername")) {
+                return user.getUsername().equals(args[0]) ? Optional.of(user) : Optional.empty();
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /** Interface stub whose non-{@link Object} methods are answered by {@code handler}. */
+    @SuppressWarnings("unchecked")
+    public static <T> T stub(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "Stub[" + type.getSimpleName() + "]";
+                        default:
+                            return handler.apply(method, args);
+                    }
+                });
+    }
+
+    private static void invokeLifecycle(Object target, String methodName) {
+        Method method = ReflectionUtils.findMethod(target.getClass(), methodName);
+        ReflectionUtils.makeAccessible(method);
+        ReflectionUtils.invokeMethod(method, target);
+    }
+}
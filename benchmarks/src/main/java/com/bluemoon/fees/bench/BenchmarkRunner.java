@@ -0,0 +1,67 @@
+package com.bluemoon.fees.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command line and, unless a result
+ * file is given with {@code -rff}, writes JSON results to
+ * {@code results/<git-sha>-<timestamp>.json} so runs can be compared with {@link ResultComparator}.
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getResult().hasValue()) {
+            if (!commandLine.getResultFormat().hasValue()) {
+                options.resultFormat(ResultFormatType.JSON);
+            }
+        } else {
+            Path results = Path.of("results");
+            Files.createDirectories(results);
+            Path file = results.resolve(gitRevision() + "-" + LocalDateTime.now().format(TIMESTAMP) + ".json");
+            options.resultFormat(ResultFormatType.JSON).result(file.toString());
+            System.out.println("Writing results to " + file);
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static String gitRevision() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(git.getInputStream(), StandardCharsets.UTF_8))) {
+                String revision = reader.readLine();
+                if (git.waitFor() == 0 && revision != null && !revision.isBlank()) {
+                    return revision.trim();
+                }
+            }
+        } catch (Exception ignored) {
+            // Not a git checkout or git not installed
+        }
+        return "nogit";
+    }
+}
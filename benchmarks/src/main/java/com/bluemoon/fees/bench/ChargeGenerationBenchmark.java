@@ -0,0 +1,123 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.dto.ChargeGenerationResult;
+import com.bluemoon.fees.entity.RecurringFee;
+import com.bluemoon.fees.service.ChargeService;
+import com.bluemoon.fees.service.RecurringFeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One month of charge generation by {@code ChargeServiceImpl} for every active household: three
+ * monthly fees (one priced per member) and a quarterly one. {@code generate} starts from an
+ * empty charge table; {@code regenerate} repeats a finished run, which must write nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ChargeGenerationBenchmark {
+
+    private static final YearMonth MONTH = YearMonth.of(2026, 1);
+
+    @Param({"20000"})
+    public int households;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    @Param({"1000"})
+    public int chunkSize;
+
+    private EmbeddedBackend backend;
+    private ChargeService chargeService;
+    private JdbcTemplate jdbc;
+    private int expected;
+
+    @Setup(Level.Trial)
+    public void start() {
+        backend = EmbeddedBackend.start(
+                "--billing.generator.threads=" + threads,
+                "--billing.generator.chunk-size=" + chunkSize);
+        jdbc = backend.bean(JdbcTemplate.class);
+        new SyntheticDataGenerator(jdbc).generate(new DatasetSpec(households, 1, 0, 0, DatasetSpec.SMALL.seed()));
+
+        RecurringFeeService recurringFees = backend.bean(RecurringFeeService.class);
+        recurringFees.createRecurringFee(recurringFee("Management fee", RecurringFee.Frequency.MONTHLY, 7_000, true));
+        recurringFees.createRecurringFee(recurringFee("Cleaning fee", RecurringFee.Frequency.MONTHLY, 60_000, false));
+        recurringFees.createRecurringFee(recurringFee("Parking fee", RecurringFee.Frequency.MONTHLY, 120_000, false));
+        recurringFees.createRecurringFee(recurringFee("Maintenance fund", RecurringFee.Frequency.QUARTERLY, 300_000, false));
+        chargeService = backend.bean(ChargeService.class);
+
+        int active = jdbc.queryForObject("SELECT COUNT(*) FROM households WHERE active = TRUE", Integer.class);
+        expected = active * 4;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        backend.close();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Empty {
+        @Setup(Level.Invocation)
+        public void clear(ChargeGenerationBenchmark benchmark) {
+            benchmark.jdbc.update("DELETE FROM fee_charges");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Generated {
+        @Setup(Level.Iteration)
+        public void fill(ChargeGenerationBenchmark benchmark) {
+            benchmark.chargeService.generate(MONTH);
+        }
+    }
+
+    @Benchmark
+    public ChargeGenerationResult generate(Empty empty) {
+        return check(chargeService.generate(MONTH), expected);
+    }
+
+    @Benchmark
+    public ChargeGenerationResult regenerate(Generated generated) {
+        return check(chargeService.generate(MONTH), 0);
+    }
+
+    private static ChargeGenerationResult check(ChargeGenerationResult result, long created) {
+        if (result.getCreated() != created) {
+            throw new IllegalStateException("Expected " + created + " charges, got " + result);
+        }
+        return result;
+    }
+
+    private static RecurringFee recurringFee(String name, RecurringFee.Frequency frequency, double amount,
+                                             boolean perMember) {
+        RecurringFee fee = new RecurringFee();
+        fee.setName(name);
+        fee.setType("MANDATORY");
+        fee.setFrequency(frequency);
+        fee.setAmount(amount);
+        fee.setPerMember(perMember);
+        fee.setStartDate(LocalDate.of(2025, 1, 1));
+        return fee;
+    }
+}
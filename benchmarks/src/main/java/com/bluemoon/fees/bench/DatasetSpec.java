@@ -0,0 +1,50 @@
+package com.bluemoon.fees.bench;
+
+/**
+ * Row counts and random seed for {@link SyntheticDataGenerator}.
+ */
+public record DatasetSpec(int households, int fees, long payments, long notifications, long seed) {
+
+    /** Quick to seed; the default for benchmarks and local load tests. */
+    public static final DatasetSpec SMALL = new DatasetSpec(2_000, 50, 50_000, 10_000, 42);
+
+    public static final DatasetSpec MEDIUM = new DatasetSpec(10_000, 120, 1_000_000, 200_000, 42);
+
+    /** Roughly the size of a large building complex after several years of use. */
+    public static final DatasetSpec PRODUCTION = new DatasetSpec(20_000, 200, 5_000_000, 1_000_000, 42);
+
+    public DatasetSpec {
+        if (households < 1 || fees < 1 || payments < 0 || notifications < 0) {
+            throw new IllegalArgumentException("Dataset needs at least one household and one fee");
+        }
+    }
+
+    public static DatasetSpec preset(String name) {
+        return switch (name.toLowerCase()) {
+            case "small" -> SMALL;
+            case "medium" -> MEDIUM;
+            case "production" -> PRODUCTION;
+            default -> throw new IllegalArgumentException("Unknown dataset preset: " + name);
+        };
+    }
+
+    /**
+     * Reads {@code --dataset=<preset>} and individual overrides such as
+     * {@code --payments=2000000} from the command line.
+     */
+    static DatasetSpec from(Arguments args) {
+        DatasetSpec base = preset(args.string("dataset", "small"));
+        return new DatasetSpec(
+                args.integer("households", base.households),
+                args.integer("fees", base.fees),
+                args.longValue("payments", base.payments),
+                args.longValue("notifications", base.notifications),
+                args.longValue("seed", base.seed));
+    }
+
+    @Override
+    public String toString() {
+        return households + " households, " + fees + " fees, " + payments + " payments, "
+                + notifications + " notifications (seed " + seed + ")";
+    }
+}
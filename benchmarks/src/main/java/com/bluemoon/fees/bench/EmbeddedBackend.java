@@ -0,0 +1,70 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.FeesApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs the full backend in-process against a private in-memory H2 database in MySQL mode.
+ * Each instance gets its own database so benchmarks in the same JVM do not share state.
+ */
+public final class EmbeddedBackend implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedBackend(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts the application. {@code extraArgs} are passed as command-line properties
+     * ({@code --key=value}) and override the defaults below.
+     */
+    public static EmbeddedBackend start(String... extraArgs) {
+        String database = "bench_" + UUID.randomUUID().toString().replace("-", "");
+        List<String> args = List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.bluemoon=WARN",
+                "--jwt.secret=" + BenchmarkFixtures.SECRET,
+                "--jwt.expiration=" + BenchmarkFixtures.EXPIRATION_MS
+        );
+        // Spring joins repeated options with commas, so an override has to replace the default
+        Map<String, String> byKey = new LinkedHashMap<>();
+        for (String arg : args) {
+            byKey.put(arg.substring(0, arg.indexOf('=')), arg);
+        }
+        for (String arg : extraArgs) {
+            byKey.put(arg.indexOf('=') < 0 ? arg : arg.substring(0, arg.indexOf('=')), arg);
+        }
+        return new EmbeddedBackend(SpringApplication.run(FeesApplication.class, byKey.values().toArray(String[]::new)));
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int port() {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
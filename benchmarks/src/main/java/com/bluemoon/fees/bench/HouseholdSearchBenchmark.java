@@ -0,0 +1,52 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.entity.Household;
+import com.bluemoon.fees.service.HouseholdService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Household search by owner name and address, as issued by {@code GET /api/households/search}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HouseholdSearchBenchmark {
+
+    private static final String[] NAME_TERMS = {"nguyen", "Tran", "van", "THI", "Van Khanh"};
+    private static final String[] ADDRESS_TERMS = {"Tower A", "Apt 12", "tower c, apt 3", "Apt 3012"};
+
+    private HouseholdService householdService;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp(SeededBackend seeded) {
+        householdService = seeded.backend.bean(HouseholdService.class);
+        random = new SplittableRandom(11);
+    }
+
+    @Benchmark
+    public List<Household> searchByOwnerName() {
+        return householdService.searchByOwnerName(NAME_TERMS[random.nextInt(NAME_TERMS.length)]);
+    }
+
+    @Benchmark
+    public List<Household> searchByAddress() {
+        return householdService.searchByAddress(ADDRESS_TERMS[random.nextInt(ADDRESS_TERMS.length)]);
+    }
+}
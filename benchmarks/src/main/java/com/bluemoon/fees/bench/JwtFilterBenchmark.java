@@ -0,0 +1,76 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.entity.User;
+import com.bluemoon.fees.security.JwtAuthenticationFilter;
+import com.bluemoon.fees.security.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request cost of authenticating a bearer token: one signature check and
+ * claims parse in {@link JwtService#verify}, plus the filter's bookkeeping around it. Token
+ * signing is included for comparison with the login path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean validationCache;
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private User user;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user("admin", "ADMIN");
+        jwtService = BenchmarkFixtures.jwtService(validationCache);
+        filter = BenchmarkFixtures.jwtFilter(jwtService, user);
+        token = jwtService.generateAccessToken(user);
+
+        request = new MockHttpServletRequest("GET", "/api/payments");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public void verifyToken(Blackhole blackhole) {
+        blackhole.consume(jwtService.verify(token));
+    }
+
+    @Benchmark
+    public void filterHotPath() throws Exception {
+        filter.doFilter(request, response, chain);
+    }
+}
@@ -0,0 +1,354 @@
+package com.bluemoon.fees.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load generator that replays a weighted mix of the calls the frontend makes:
+ * the dashboard's parallel list fetches, list and search pages, statistics, and payment
+ * creation. Each worker thread sends one request at a time and records its latency in a
+ * per-operation histogram; the warm-up period is excluded from the report.
+ *
+ * <p>By default the backend is started in-process on an embedded database filled by
+ * {@link SyntheticDataGenerator}. Pass {@code --base-url} to drive a running instance instead;
+ * its data should have been generated with the same dataset options so that ids line up, and
+ * the rate limiter should be disabled there ({@code rate-limit.enabled=false}).
+ *
+ * <pre>java -cp target/benchmarks.jar com.bluemoon.fees.bench.LoadDriver \
+ *     --dataset=small --threads=16 --warmup=15s --duration=60s \
+ *     [--mix=dashboard:5,payments.create:10,...] [--base-url=http://localhost:8080] [--username=admin --password=admin123]</pre>
+ *
+ * <p>Because the loop is closed, a stalled server also slows the request rate; treat the tail
+ * percentiles as a lower bound under overload.
+ */
+public final class LoadDriver {
+
+    private static final String DEFAULT_MIX = "dashboard:5,households.list:5,households.search:10,"
+            + "payments.byHousehold:20,payments.dateRange:10,payments.unverified:5,stats.household:10,"
+            + "stats.fee:10,stats.dateRange:5,notifications.unreadCount:10,payments.create:10";
+    private static final String[] SEARCH_TERMS = {"Nguyen", "Tran", "Le Van", "Pham Thi", "Minh", "Lan", "Tuan"};
+
+    private final String baseUrl;
+    private final DatasetSpec spec;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+    private String token;
+
+    public LoadDriver(String baseUrl, DatasetSpec spec) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.spec = spec;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        registerOperations();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        DatasetSpec spec = DatasetSpec.from(arguments);
+
+        EmbeddedBackend backend = null;
+        String baseUrl = arguments.string("base-url", null);
+        if (baseUrl == null) {
+            System.out.println("Starting embedded backend");
+            backend = EmbeddedBackend.start("--rate-limit.enabled=false");
+            new SyntheticDataGenerator(backend.bean(JdbcTemplate.class)).generate(spec);
+            baseUrl = "http://localhost:" + backend.port();
+        }
+        try {
+            LoadDriver driver = new LoadDriver(baseUrl, spec);
+            driver.login(arguments.string("username", "admin"), arguments.string("password", "admin123"));
+            Map<String, Integer> mix = parseMix(arguments.string("mix", DEFAULT_MIX));
+            Report report = driver.run(mix,
+                    arguments.integer("threads", 16),
+                    arguments.seconds("warmup", 15),
+                    arguments.seconds("duration", 60));
+            report.print(System.out);
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+    }
+
+    public void login(String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("username", username, "password", password))))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode() + ": " + response.body());
+        }
+        token = objectMapper.readTree(response.body()).path("token").asText();
+    }
+
+    /**
+     * Runs the mix on {@code threads} workers for the warm-up plus measurement period and
+     * returns the merged per-operation results of the measurement period.
+     */
+    public Report run(Map<String, Integer> mix, int threads, long warmupSeconds, long durationSeconds)
+            throws InterruptedException {
+        List<String> names = new ArrayList<>();
+        List<Operation> weighted = new ArrayList<>();
+        int[] cumulative = new int[mix.size()];
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            Operation operation = operations.get(entry.getKey());
+            if (operation == null) {
+                throw new IllegalArgumentException("Unknown operation '" + entry.getKey() + "', expected one of "
+                        + operations.keySet());
+            }
+            total += entry.getValue();
+            cumulative[weighted.size()] = total;
+            names.add(entry.getKey());
+            weighted.add(operation);
+        }
+        int totalWeight = total;
+
+        System.out.printf("Running %d threads against %s: %d s warm-up, %d s measurement%n",
+                threads, baseUrl, warmupSeconds, durationSeconds);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        List<Worker> workers = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Worker worker = new Worker(new SplittableRandom(spec.seed() + t), measureFrom, measureUntil);
+            workers.add(worker);
+            Thread thread = new Thread(() -> {
+                try {
+                    worker.loop(names, weighted, cumulative, totalWeight);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + t);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        Report report = new Report(durationSeconds);
+        for (Worker worker : workers) {
+            worker.results.forEach(report::merge);
+        }
+        return report;
+    }
+
+    private void registerOperations() {
+        // The dashboard loads these three lists in parallel and aggregates them client-side
+        register("dashboard", random -> {
+            List<CompletableFuture<HttpResponse<Void>>> calls = List.of(
+                    client.sendAsync(get("/api/households"), HttpResponse.BodyHandlers.discarding()),
+                    client.sendAsync(get("/api/fees"), HttpResponse.BodyHandlers.discarding()),
+                    client.sendAsync(get("/api/payments"), HttpResponse.BodyHandlers.discarding()));
+            int status = 0;
+            for (CompletableFuture<HttpResponse<Void>> call : calls) {
+                status = Math.max(status, call.join().statusCode());
+            }
+            return status;
+        });
+        register("households.list", random -> send(get("/api/households")));
+        register("households.search", random -> send(get("/api/households/search?ownerName="
+                + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)].replace(" ", "%20"))));
+        register("payments.byHousehold", random -> send(get("/api/payments/household/" + household(random))));
+        register("payments.dateRange", random -> {
+            LocalDate from = LocalDate.now().minusDays(30 + random.nextInt(3 * 365));
+            return send(get("/api/payments/date-range?startDate=" + from + "T00:00:00&endDate="
+                    + from.plusDays(30) + "T00:00:00"));
+        });
+        register("payments.unverified", random -> send(get("/api/payments/unverified")));
+        register("stats.household", random -> send(get("/api/households/" + household(random) + "/statistics")));
+        register("stats.fee", random -> send(get("/api/fees/" + fee(random) + "/statistics")));
+        register("stats.dateRange", random -> {
+            LocalDate from = LocalDate.now().minusDays(30 + random.nextInt(365));
+            return send(get("/api/payments/statistics/date-range/total?startDate=" + from + "T00:00:00&endDate="
+                    + from.plusDays(90) + "T00:00:00"));
+        });
+        register("notifications.unreadCount", random -> send(get("/api/notifications/unread/count")));
+        register("payments.create", random -> {
+            double amount = 50_000 * (1 + random.nextInt(10));
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "household", Map.of("id", household(random)),
+                    "fee", Map.of("id", fee(random)),
+                    "paymentDate", LocalDate.now().toString(),
+                    "amount", amount,
+                    "amountPaid", amount,
+                    "verified", false));
+            return send(request("/api/payments")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+        });
+    }
+
+    private void register(String name, Operation operation) {
+        operations.put(name, operation);
+    }
+
+    private long household(SplittableRandom random) {
+        return 1 + random.nextInt(spec.households());
+    }
+
+    private long fee(SplittableRandom random) {
+        return 1 + random.nextInt(spec.fees());
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            if (weight > 0) {
+                weights.put(parts[0], weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no operations with a positive weight: " + mix);
+        }
+        return weights;
+    }
+
+    /** One logical user action; returns the (worst) HTTP status it received. */
+    @FunctionalInterface
+    private interface Operation {
+        int execute(SplittableRandom random) throws Exception;
+    }
+
+    private static final class Worker {
+        private final SplittableRandom random;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Map<String, Result> results = new LinkedHashMap<>();
+
+        Worker(SplittableRandom random, long measureFrom, long measureUntil) {
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+        }
+
+        void loop(List<String> names, List<Operation> weighted, int[] cumulative, int totalWeight) {
+            long now = System.nanoTime();
+            while (now < measureUntil) {
+                int pick = random.nextInt(totalWeight);
+                int index = 0;
+                while (cumulative[index] <= pick) {
+                    index++;
+                }
+                boolean failed;
+                try {
+                    int status = weighted.get(index).execute(random);
+                    failed = status >= 400;
+                } catch (Exception e) {
+                    failed = true;
+                }
+                long end = System.nanoTime();
+                if (now >= measureFrom && end <= measureUntil) {
+                    results.computeIfAbsent(names.get(index), name -> new Result()).record(end - now, failed);
+                }
+                now = end;
+            }
+        }
+    }
+
+    private static final class Result {
+        // Up to one minute at three significant digits
+        final Histogram latencies = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+        long errors;
+
+        void record(long nanos, boolean failed) {
+            latencies.recordValue(Math.min(nanos, latencies.getHighestTrackableValue()));
+            if (failed) {
+                errors++;
+            }
+        }
+    }
+
+    /** Merged results of all workers for the measurement period. */
+    public static final class Report {
+        private final long durationSeconds;
+        private final Map<String, Result> results = new LinkedHashMap<>();
+
+        Report(long durationSeconds) {
+            this.durationSeconds = durationSeconds;
+        }
+
+        void merge(String name, Result result) {
+            Result merged = results.computeIfAbsent(name, n -> new Result());
+            merged.latencies.add(result.latencies);
+            merged.errors += result.errors;
+        }
+
+        public double requestsPerSecond() {
+            return (double) total().latencies.getTotalCount() / durationSeconds;
+        }
+
+        public long errors() {
+            return total().errors;
+        }
+
+        /** Latency percentile over all operations, in milliseconds. */
+        public double percentileMillis(double percentile) {
+            return total().latencies.getValueAtPercentile(percentile) / 1e6;
+        }
+
+        public void print(PrintStream out) {
+            out.printf("%n%-28s %9s %7s %9s %9s %9s %9s %9s%n",
+                    "Operation", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "Max ms");
+            results.forEach((name, result) -> line(out, name, result));
+            line(out, "TOTAL", total());
+        }
+
+        private Result total() {
+            Result all = new Result();
+            results.values().forEach(result -> {
+                all.latencies.add(result.latencies);
+                all.errors += result.errors;
+            });
+            return all;
+        }
+
+        private void line(PrintStream out, String name, Result result) {
+            Histogram h = result.latencies;
+            out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, h.getTotalCount(), result.errors, (double) h.getTotalCount() / durationSeconds,
+                    h.getValueAtPercentile(50) / 1e6, h.getValueAtPercentile(99) / 1e6,
+                    h.getValueAtPercentile(99.9) / 1e6, h.getMaxValue() / 1e6);
+        }
+    }
+}
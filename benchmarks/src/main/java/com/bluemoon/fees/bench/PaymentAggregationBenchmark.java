@@ -0,0 +1,59 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.service.PaymentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment totals as computed by {@code PaymentServiceImpl} against the seeded database,
+ * including the repository query and transaction overhead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentAggregationBenchmark {
+
+    private PaymentService paymentService;
+    private SplittableRandom random;
+    private int households;
+    private int fees;
+
+    @Setup
+    public void setUp(SeededBackend seeded) {
+        paymentService = seeded.backend.bean(PaymentService.class);
+        random = new SplittableRandom(7);
+        households = seeded.households;
+        fees = seeded.fees;
+    }
+
+    @Benchmark
+    public Double totalByHousehold() {
+        return paymentService.calculateTotalPaymentsByHousehold(1L + random.nextInt(households));
+    }
+
+    @Benchmark
+    public Double totalByFee() {
+        return paymentService.calculateTotalPaymentsByFee(1L + random.nextInt(fees));
+    }
+
+    @Benchmark
+    public Double totalByDateRange() {
+        LocalDate start = LocalDate.now().minusDays(30 + random.nextInt(600));
+        return paymentService.calculateTotalPaymentsByDateRange(start, start.plusDays(30));
+    }
+}
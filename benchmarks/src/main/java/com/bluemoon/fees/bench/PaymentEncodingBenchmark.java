@@ -0,0 +1,82 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.dto.PaymentDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The payment list in each negotiable response format: JSON, Smile and CBOR. Measures encoding
+ * and decoding time; payload sizes, raw and gzipped, are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentEncodingBenchmark {
+
+    private static final TypeReference<List<PaymentDTO>> PAYMENT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<PaymentDTO> dtos;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same builders as the backend's message converters
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        dtos = BenchmarkFixtures.samplePayments(size).stream().map(PaymentDTO::new).toList();
+        encoded = objectMapper.writeValueAsBytes(dtos);
+        System.out.printf("%n%s, %d payments: %d bytes, %d bytes gzipped%n",
+                format, size, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public List<PaymentDTO> decode() throws IOException {
+        return objectMapper.readValue(encoded, PAYMENT_LIST);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,113 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.dto.PaymentDTO;
+import com.bluemoon.fees.dto.PaymentList;
+import com.bluemoon.fees.entity.Payment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a page of payments into a JSON response body: the entity graph, {@link PaymentDTO}
+ * conversion plus serialization, the streaming {@link PaymentList} writer the list endpoints use,
+ * and a flat projection record for comparison. Run with {@code -prof gc} for allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    // Generated accessors, as registered in the backend's HttpConfig
+    @Param({"true", "false"})
+    public boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private List<Payment> payments;
+    private List<PaymentDTO> dtos;
+    private List<PaymentRow> rows;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same builder Spring Boot uses for the HTTP message converters
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        payments = BenchmarkFixtures.samplePayments(size);
+        dtos = toDtos();
+        rows = payments.stream().map(PaymentRow::of).toList();
+
+        if (!Arrays.equals(serializeDtos(), serializeStreaming())) {
+            throw new IllegalStateException("PaymentList output differs from List<PaymentDTO>");
+        }
+    }
+
+    @Benchmark
+    public List<PaymentDTO> toDtos() {
+        List<PaymentDTO> result = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            result.add(new PaymentDTO(payment));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(payments);
+    }
+
+    @Benchmark
+    public byte[] serializeDtos() throws Exception {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerializeDtos() throws Exception {
+        return objectMapper.writeValueAsBytes(toDtos());
+    }
+
+    @Benchmark
+    public byte[] serializeStreaming() throws Exception {
+        return objectMapper.writeValueAsBytes(new PaymentList(payments));
+    }
+
+    @Benchmark
+    public byte[] serializeProjection() throws Exception {
+        return objectMapper.writeValueAsBytes(rows);
+    }
+
+    /** The columns a list view needs, as a query projection would return them. */
+    public record PaymentRow(Long id, Long householdId, Long feeId, LocalDate paymentDate,
+                             Double amount, Double amountPaid, boolean verified) {
+
+        static PaymentRow of(Payment payment) {
+            return new PaymentRow(payment.getId(), payment.getHousehold().getId(), payment.getFee().getId(),
+                    payment.getPaymentDate(), payment.getAmount(), payment.getAmountPaid(), payment.isVerified());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.dto.PenaltyRunResult;
+import com.bluemoon.fees.entity.RecurringFee;
+import com.bluemoon.fees.service.ChargeService;
+import com.bluemoon.fees.service.PenaltyService;
+import com.bluemoon.fees.service.RecurringFeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A nightly penalty run by {@code PenaltyServiceImpl} over a year of unpaid charges: three
+ * monthly mandatory fees for every household, none of them paid. {@code accrueNextDay} runs for
+ * a new day each time, so every overdue charge is read, accrued and written back;
+ * {@code accrueSameDay} repeats a finished run and must not touch anything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PenaltyAccrualBenchmark {
+
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2025, 1);
+    private static final int MONTHS = 12;
+
+    @Param({"20000"})
+    public int households;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    @Param({"5000"})
+    public int chunkSize;
+
+    private EmbeddedBackend backend;
+    private PenaltyService penaltyService;
+    private LocalDate day = FIRST_MONTH.plusMonths(MONTHS).atDay(1);
+    private long overdue;
+
+    @Setup(Level.Trial)
+    public void start() {
+        backend = EmbeddedBackend.start(
+                "--billing.penalty.threads=" + threads,
+                "--billing.penalty.chunk-size=" + chunkSize,
+                "--billing.penalty.cap-rate=0");
+        JdbcTemplate jdbc = backend.bean(JdbcTemplate.class);
+        new SyntheticDataGenerator(jdbc).generate(new DatasetSpec(households, 1, 0, 0, DatasetSpec.SMALL.seed()));
+
+        RecurringFeeService recurringFees = backend.bean(RecurringFeeService.class);
+        recurringFees.createRecurringFee(recurringFee("Management fee", 7_000, true));
+        recurringFees.createRecurringFee(recurringFee("Cleaning fee", 60_000, false));
+        recurringFees.createRecurringFee(recurringFee("Parking fee", 120_000, false));
+        ChargeService chargeService = backend.bean(ChargeService.class);
+        for (int month = 0; month < MONTHS; month++) {
+            chargeService.generate(FIRST_MONTH.plusMonths(month));
+        }
+        overdue = jdbc.queryForObject("SELECT COUNT(*) FROM fee_charges", Long.class);
+        penaltyService = backend.bean(PenaltyService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        backend.close();
+    }
+
+    @Benchmark
+    public PenaltyRunResult accrueNextDay() {
+        day = day.plusDays(1);
+        return check(penaltyService.accrue(day), overdue);
+    }
+
+    @Benchmark
+    public PenaltyRunResult accrueSameDay() {
+        penaltyService.accrue(day);
+        return check(penaltyService.accrue(day), 0);
+    }
+
+    private static PenaltyRunResult check(PenaltyRunResult result, long updated) {
+        if (result.getUpdated() != updated) {
+            throw new IllegalStateException("Expected " + updated + " updated charges, got " + result);
+        }
+        return result;
+    }
+
+    private static RecurringFee recurringFee(String name, double amount, boolean perMember) {
+        RecurringFee fee = new RecurringFee();
+        fee.setName(name);
+        fee.setType("MANDATORY");
+        fee.setFrequency(RecurringFee.Frequency.MONTHLY);
+        fee.setAmount(amount);
+        fee.setPerMember(perMember);
+        fee.setStartDate(FIRST_MONTH.atDay(1));
+        return fee;
+    }
+}
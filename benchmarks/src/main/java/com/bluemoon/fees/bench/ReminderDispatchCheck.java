@@ -0,0 +1,217 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.dto.ReminderEnqueueResult;
+import com.bluemoon.fees.entity.RecurringFee;
+import com.bluemoon.fees.entity.ReminderMessage.Status;
+import com.bluemoon.fees.service.ChargeService;
+import com.bluemoon.fees.service.RecurringFeeService;
+import com.bluemoon.fees.service.ReminderDispatchService;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Checks resident reminder delivery end to end against an embedded SMTP server:
+ * <ul>
+ *   <li>every household with an email and an unpaid charge gets exactly one message, within the
+ *       configured rate limit, and enqueueing the same reminder again, also concurrently, sends
+ *       nothing more;</li>
+ *   <li>messages enqueued while the SMTP server is down are retried and delivered once it is back;</li>
+ *   <li>messages a crashed dispatcher had claimed but not finished are sent by the next run
+ *       against the same database once their claim lapses.</li>
+ * </ul>
+ * Prints the delivery throughput and exits 1 on failure.
+ *
+ * <pre>java -cp target/benchmarks.jar com.bluemoon.fees.bench.ReminderDispatchCheck [--households=2000] [--rate=200] [--threads=8]</pre>
+ */
+public final class ReminderDispatchCheck {
+
+    private static final YearMonth MONTH = YearMonth.now().minusMonths(2);
+    private static final long TIMEOUT_MILLIS = 120_000;
+
+    private final ServerSetup smtp;
+    private GreenMail mail;
+
+    private ReminderDispatchCheck(ServerSetup smtp) {
+        this.smtp = smtp;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        int households = arguments.integer("households", 2_000);
+        int rate = arguments.integer("rate", 200);
+        // Sends wait on the SMTP round trip, so throughput below the rate limit grows with threads
+        int threads = arguments.integer("threads", 8);
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        String database = "reminders_" + UUID.randomUUID().toString().replace("-", "");
+        String url = "jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        String[] settings = {
+                "--spring.datasource.url=" + url,
+                "--spring.mail.host=127.0.0.1",
+                "--spring.mail.port=" + port,
+                "--reminders.dispatch.threads=" + threads,
+                "--reminders.dispatch.poll-interval-millis=200",
+                "--reminders.dispatch.backoff-millis=500",
+                "--reminders.dispatch.max-backoff-millis=4000",
+                "--reminders.dispatch.max-attempts=20",
+                "--reminders.dispatch.claim-timeout-seconds=3",
+                "--reminders.dispatch.default-rate.per-second=" + rate,
+                "--reminders.dispatch.default-rate.burst=" + rate / 10
+        };
+
+        ReminderDispatchCheck check = new ReminderDispatchCheck(new ServerSetup(port, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        boolean passed;
+        try {
+            check.startMail();
+            passed = check.run(households, rate, url, settings);
+        } finally {
+            check.mail.stop();
+        }
+        System.out.println(passed ? "PASSED" : "FAILED");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run(int households, int rate, String url, String[] settings) throws Exception {
+        boolean passed;
+        try (EmbeddedBackend backend = EmbeddedBackend.start(settings)) {
+            JdbcTemplate jdbc = backend.bean(JdbcTemplate.class);
+            new SyntheticDataGenerator(jdbc).generate(new DatasetSpec(households, 1, 0, 0, DatasetSpec.SMALL.seed()));
+            RecurringFee fee = backend.bean(RecurringFeeService.class).createRecurringFee(recurringFee());
+            backend.bean(ChargeService.class).generate(MONTH);
+            long reachable = jdbc.queryForObject("SELECT COUNT(*) FROM fee_charges c JOIN households h "
+                    + "ON h.id = c.household_id WHERE h.active = TRUE AND h.email IS NOT NULL AND h.email <> ''", Long.class);
+            ReminderDispatchService reminders = backend.bean(ReminderDispatchService.class);
+            LocalDate periodStart = MONTH.atDay(1);
+
+            long started = System.nanoTime();
+            ReminderEnqueueResult dueSoon = reminders.enqueueCharges(fee.getId(), periodStart, false);
+            awaitDrained(reminders);
+            double seconds = (System.nanoTime() - started) / 1e9;
+            int delivered = mail.getReceivedMessages().length;
+            System.out.printf("Delivered %d reminders in %.2f s (%.0f per second, limit %d)%n",
+                    delivered, seconds, delivered / seconds, rate);
+            passed = check("due-soon reminders enqueued", dueSoon.getEnqueued(), reachable);
+            passed &= check("due-soon reminders delivered", delivered, reachable);
+            passed &= check("distinct recipients", distinctRecipients(), reachable);
+            passed &= check("rate limit respected", delivered <= rate / 10 + rate * seconds ? 1 : 0, 1);
+
+            ReminderEnqueueResult again = reminders.enqueueCharges(fee.getId(), periodStart, false);
+            Thread.sleep(1_000);
+            passed &= check("repeated reminder enqueued", again.getEnqueued(), 0);
+            passed &= check("repeated reminder delivered", mail.getReceivedMessages().length, reachable);
+
+            mail.stop();
+            // The same reminder enqueued twice at once, as by the wheel and an admin
+            CompletableFuture<ReminderEnqueueResult> concurrent = CompletableFuture.supplyAsync(
+                    () -> reminders.enqueueCharges(fee.getId(), periodStart, true));
+            ReminderEnqueueResult overdue = reminders.enqueueCharges(fee.getId(), periodStart, true);
+            long enqueued = overdue.getEnqueued() + concurrent.join().getEnqueued();
+            passed &= check("overdue reminders enqueued concurrently", enqueued, reachable);
+            long failedOnce = awaitCount(jdbc, "SELECT COUNT(*) FROM reminder_outbox "
+                    + "WHERE dedup_key LIKE 'overdue:%' AND last_error IS NOT NULL", enqueued);
+            passed &= check("overdue reminders failed while SMTP is down", failedOnce, enqueued);
+            startMail();
+            awaitDrained(reminders);
+            passed &= check("overdue reminders delivered after SMTP is back", mail.getReceivedMessages().length,
+                    enqueued);
+            passed &= check("failed reminders", reminders.getOutboxCounts().get(Status.FAILED), 0);
+        }
+
+        // A dispatcher that dies mid-batch leaves its claimed messages in SENDING until the claim lapses
+        int crashed;
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            crashed = statement.executeUpdate("INSERT INTO reminder_outbox (dedup_key, household_id, transport, "
+                    + "recipient, subject, body, status, attempts, next_attempt_at, created_at) "
+                    + "SELECT CONCAT('crashed:', dedup_key), household_id, transport, recipient, subject, body, "
+                    + "'SENDING', 1, DATEADD('SECOND', 3, CURRENT_TIMESTAMP), CURRENT_TIMESTAMP "
+                    + "FROM reminder_outbox WHERE dedup_key LIKE 'overdue:%'");
+        }
+        mail.purgeEmailFromAllMailboxes();
+        String[] restart = new String[settings.length + 1];
+        System.arraycopy(settings, 0, restart, 0, settings.length);
+        restart[settings.length] = "--spring.jpa.hibernate.ddl-auto=update";
+        try (EmbeddedBackend backend = EmbeddedBackend.start(restart)) {
+            ReminderDispatchService reminders = backend.bean(ReminderDispatchService.class);
+            awaitDrained(reminders);
+            passed &= check("claimed reminders delivered after a restart", mail.getReceivedMessages().length, crashed);
+            passed &= check("reminders sent in total", reminders.getOutboxCounts().get(Status.SENT),
+                    jdbcCount(backend, "SELECT COUNT(*) FROM reminder_outbox"));
+        }
+        return passed;
+    }
+
+    private void startMail() {
+        mail = new GreenMail(smtp);
+        mail.start();
+    }
+
+    private int distinctRecipients() throws MessagingException {
+        Set<String> recipients = new HashSet<>();
+        for (Message message : mail.getReceivedMessages()) {
+            recipients.add(message.getAllRecipients()[0].toString());
+        }
+        return recipients.size();
+    }
+
+    private static void awaitDrained(ReminderDispatchService reminders) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            Map<Status, Long> counts = reminders.getOutboxCounts();
+            if (counts.get(Status.PENDING) + counts.get(Status.SENDING) == 0) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Outbox not drained after " + TIMEOUT_MILLIS + " ms: " + reminders.getOutboxCounts());
+    }
+
+    /** Polls {@code sql} until it returns {@code expected} or the timeout passes; returns the last count. */
+    private static long awaitCount(JdbcTemplate jdbc, String sql, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        long count = jdbc.queryForObject(sql, Long.class);
+        while (count != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            count = jdbc.queryForObject(sql, Long.class);
+        }
+        return count;
+    }
+
+    private static long jdbcCount(EmbeddedBackend backend, String sql) {
+        return backend.bean(JdbcTemplate.class).queryForObject(sql, Long.class);
+    }
+
+    private static boolean check(String description, long actual, long expected) {
+        boolean ok = actual == expected;
+        System.out.printf("%-50s expected %d, got %d: %s%n", description, expected, actual, ok ? "ok" : "FAIL");
+        return ok;
+    }
+
+    private static RecurringFee recurringFee() {
+        RecurringFee fee = new RecurringFee();
+        fee.setName("Management fee");
+        fee.setType("MANDATORY");
+        fee.setFrequency(RecurringFee.Frequency.MONTHLY);
+        fee.setAmount(7_000.0);
+        fee.setPerMember(true);
+        fee.setStartDate(MONTH.atDay(1));
+        return fee;
+    }
+}
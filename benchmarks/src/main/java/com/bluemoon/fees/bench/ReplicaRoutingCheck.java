@@ -0,0 +1,95 @@
+package com.bluemoon.fees.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Checks read-replica routing end to end with the {@code replica-local} profile: two embedded
+ * databases, with the replica refreshed from the primary on a fixed delay. After the admin
+ * creates a fee, the admin must see it at once (read-your-writes on the primary) while another
+ * user must not see it until the next refresh (reads on the replica). Exits 1 on failure.
+ *
+ * <pre>java -cp target/benchmarks.jar com.bluemoon.fees.bench.ReplicaRoutingCheck [--sync-interval=3s]</pre>
+ */
+public final class ReplicaRoutingCheck {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    private ReplicaRoutingCheck(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        long syncSeconds = arguments.seconds("sync-interval", 3);
+        String replica = "replica_" + UUID.randomUUID().toString().replace("-", "");
+
+        boolean passed;
+        try (EmbeddedBackend backend = EmbeddedBackend.start(
+                "--spring.profiles.active=replica-local",
+                "--datasource.replica.url=jdbc:h2:mem:" + replica + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--datasource.replica.local-sync-interval-ms=" + syncSeconds * 1000,
+                "--datasource.replica.sticky-window=" + syncSeconds * 2 + "s")) {
+            passed = new ReplicaRoutingCheck("http://localhost:" + backend.port()).run(syncSeconds);
+        }
+        System.out.println(passed ? "PASSED" : "FAILED");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run(long syncSeconds) throws Exception {
+        String admin = login("admin", "admin123");
+        String user = login("user", "user123");
+        int before = feeCount(admin);
+
+        HttpResponse<String> created = client.send(request("/api/fees", admin)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of(
+                        "name", "Replica check", "type", "SERVICE", "amount", 1000,
+                        "dueDate", "2030-01-01", "active", true))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (created.statusCode() != 200) {
+            throw new IllegalStateException("Creating the fee failed: " + created.statusCode() + " " + created.body());
+        }
+
+        boolean passed = check("writer sees its write at once", feeCount(admin), before + 1);
+        passed &= check("other user reads the lagging replica", feeCount(user), before);
+        Thread.sleep((syncSeconds + 1) * 1000);
+        passed &= check("other user sees the write after a refresh", feeCount(user), before + 1);
+        return passed;
+    }
+
+    private static boolean check(String description, int actual, int expected) {
+        boolean ok = actual == expected;
+        System.out.printf("%-45s expected %d fees, got %d: %s%n", description, expected, actual, ok ? "ok" : "FAIL");
+        return ok;
+    }
+
+    private int feeCount(String token) throws Exception {
+        HttpResponse<String> response = client.send(request("/api/fees", token).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).size();
+    }
+
+    private String login(String username, String password) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("username", username, "password", password))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.path("token").asText();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token);
+    }
+}
@@ -0,0 +1,84 @@
+package com.bluemoon.fees.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files benchmark by benchmark and exits with status 1 when any
+ * score regressed by more than the threshold (10% by default).
+ *
+ * <pre>java -cp target/benchmarks.jar com.bluemoon.fees.bench.ResultComparator baseline.json candidate.json [threshold%]</pre>
+ */
+public final class ResultComparator {
+
+    private ResultComparator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: ResultComparator <baseline.json> <candidate.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double newScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s%n", entry.getKey(), "-", newScore, "new", unit);
+                continue;
+            }
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            // Throughput modes improve upwards, time modes downwards
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s%s%n",
+                    entry.getKey(), oldScore, newScore, change, unit, regressed ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream()
+                .filter(key -> !candidate.containsKey(key))
+                .forEach(key -> System.out.printf("%-80s %14s%n", key, "removed"));
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> load(File file) throws Exception {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            results.put(key(result), result);
+        }
+        return results;
+    }
+
+    private static String key(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                .replace("com.bluemoon.fees.bench.", ""));
+        Map<String, String> params = new TreeMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = result.path("params").fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> param = it.next();
+            params.put(param.getKey(), param.getValue().asText());
+        }
+        params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.bluemoon.fees.bench;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JMH state holding a running backend seeded with a fixed dataset. Shared by every thread of
+ * a trial; the database is discarded at tear-down.
+ */
+@State(Scope.Benchmark)
+public class SeededBackend {
+
+    @Param({"2000"})
+    public int households;
+
+    @Param({"50"})
+    public int fees;
+
+    @Param({"50000"})
+    public long payments;
+
+    @Param({"10000"})
+    public long notifications;
+
+    public EmbeddedBackend backend;
+
+    @Setup(Level.Trial)
+    public void start() {
+        backend = EmbeddedBackend.start();
+        new SyntheticDataGenerator(backend.bean(JdbcTemplate.class))
+                .generate(new DatasetSpec(households, fees, payments, notifications, DatasetSpec.SMALL.seed()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        backend.close();
+    }
+}
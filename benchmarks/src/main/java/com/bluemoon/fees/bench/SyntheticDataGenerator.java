@@ -0,0 +1,298 @@
+package com.bluemoon.fees.bench;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills an empty schema with households, fees, payments and notifications shaped like a real
+ * building's history. Rows are written with JDBC batches straight into the tables created by
+ * Hibernate, so ids run from 1 in insertion order; the same {@link DatasetSpec} always
+ * produces the same data relative to today's date.
+ *
+ * <p>The distributions, roughly:
+ * <ul>
+ *   <li>households: Vietnamese family names weighted by frequency, 1-6 members peaking at 2-3,
+ *       about 4% inactive</li>
+ *   <li>fees: 70% mandatory monthly service fees spread over the last three years, the rest
+ *       voluntary contributions; mandatory fees attract ten times as many payments</li>
+ *   <li>payments: mostly a few days after the due date with a long tail of late payers, one in
+ *       ten partial; older payments are almost all verified, recent ones often are not</li>
+ *   <li>notifications: mostly payment notices for the admin, skewed towards recent dates; old
+ *       ones are read</li>
+ * </ul>
+ *
+ * <p>Can also be run on its own against a database whose schema the application has already
+ * created:
+ * <pre>java -cp target/benchmarks.jar com.bluemoon.fees.bench.SyntheticDataGenerator \
+ *     --url=jdbc:mysql://localhost:3306/fees?rewriteBatchedStatements=true --username=root --password=... \
+ *     --dataset=production</pre>
+ */
+public final class SyntheticDataGenerator {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int HISTORY_DAYS = 3 * 365;
+
+    private static final String[] FAMILY_NAMES = {
+        "Nguyen", "Tran", "Le", "Pham", "Hoang", "Huynh", "Phan", "Vu", "Vo", "Dang", "Bui", "Do", "Ho", "Ngo", "Duong", "Ly"
+    };
+    private static final double[] FAMILY_NAME_WEIGHTS = {38, 11, 9.5, 7, 5.1, 5.1, 4.5, 3.9, 3.9, 2.1, 2, 1.4, 1.3, 1.3, 1, 0.5};
+    private static final String[] MIDDLE_NAMES = {"Van", "Thi", "Duc", "Minh", "Ngoc", "Thanh", "Huu", "Quoc"};
+    private static final String[] GIVEN_NAMES = {
+        "An", "Binh", "Cuong", "Dung", "Giang", "Hai", "Hoa", "Hung", "Khanh", "Lan", "Linh", "Long", "Mai", "Nam",
+        "Phuong", "Quang", "Son", "Tam", "Thao", "Trang", "Tuan", "Viet", "Yen"
+    };
+    private static final double[] MEMBER_WEIGHTS = {15, 25, 25, 20, 10, 5};
+
+    private static final String[] SERVICE_FEES = {"Management fee", "Parking fee", "Cleaning fee"};
+    private static final double[] SERVICE_FEE_AMOUNTS = {420_000, 120_000, 60_000};
+    private static final String[] CONTRIBUTIONS = {
+        "Flood relief fund", "Children's festival", "Tet decorations", "Community library", "Elderly care fund",
+        "Playground renovation"
+    };
+    private static final String[] NOTES = {
+        "Paid in cash at the office", "Bank transfer", "Paid by tenant", "Late payment", "Paid on behalf of owner"
+    };
+
+    private final JdbcTemplate jdbc;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public static void main(String[] args) {
+        Arguments arguments = Arguments.parse(args);
+        if (!arguments.has("url")) {
+            System.err.println("Usage: SyntheticDataGenerator --url=<jdbc url> [--username=] [--password=]"
+                    + " [--dataset=small|medium|production] [--households=] [--fees=] [--payments=] [--notifications=] [--seed=]");
+            System.exit(2);
+        }
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                arguments.string("url", null), arguments.string("username", "root"), arguments.string("password", ""));
+        new SyntheticDataGenerator(new JdbcTemplate(dataSource)).generate(DatasetSpec.from(arguments));
+    }
+
+    public void generate(DatasetSpec spec) {
+        long started = System.nanoTime();
+        System.out.println("Generating " + spec);
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        LocalDate today = LocalDate.now();
+
+        insertHouseholds(spec.households(), random);
+        Fees fees = insertFees(spec.fees(), today, random);
+        insertPayments(spec, fees, today, random);
+        insertNotifications(spec, today, random);
+
+        System.out.printf("Dataset ready in %.1f s%n", (System.nanoTime() - started) / 1e9);
+    }
+
+    private void insertHouseholds(int count, SplittableRandom random) {
+        WeightedIndex familyNames = new WeightedIndex(FAMILY_NAME_WEIGHTS);
+        WeightedIndex members = new WeightedIndex(MEMBER_WEIGHTS);
+        batches("INSERT INTO households (owner_name, address, num_members, phone_number, email, active) VALUES (?, ?, ?, ?, ?, ?)",
+                count, (ps, i) -> {
+                    int n = (int) i + 1;
+                    String givenName = GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+                    ps.setString(1, FAMILY_NAMES[familyNames.next(random)] + " "
+                            + MIDDLE_NAMES[random.nextInt(MIDDLE_NAMES.length)] + " " + givenName);
+                    // Six towers, 30 floors, 12 apartments per floor
+                    int apartment = n - 1;
+                    ps.setString(2, "Tower " + (char) ('A' + apartment % 6) + ", Apt "
+                            + (apartment / 6 / 12 % 30 + 1) + String.format("%02d", apartment / 6 % 12 + 1)
+                            + (apartment >= 6 * 30 * 12 ? " (" + (apartment / (6 * 30 * 12) + 1) + ")" : ""));
+                    ps.setInt(3, members.next(random) + 1);
+                    ps.setString(4, "09" + (10_000_000 + random.nextInt(90_000_000)));
+                    ps.setString(5, random.nextInt(10) < 7 ? givenName.toLowerCase() + n + "@example.com" : null);
+                    ps.setBoolean(6, random.nextInt(100) >= 4);
+                });
+    }
+
+    private Fees insertFees(int count, LocalDate today, SplittableRandom random) {
+        Fees fees = new Fees(count);
+        LocalDate first = today.minusDays(HISTORY_DAYS);
+        batches("INSERT INTO fees (name, type, amount, due_date, description, active) VALUES (?, ?, ?, ?, ?, ?)",
+                count, (ps, i) -> {
+                    int index = (int) i;
+                    // Spread fees evenly from three years ago to a month ahead
+                    LocalDate dueDate = first.plusDays((long) (HISTORY_DAYS + 30) * index / Math.max(1, count - 1));
+                    boolean mandatory = index % 10 < 7;
+                    String name;
+                    double amount;
+                    if (mandatory) {
+                        int kind = index % SERVICE_FEES.length;
+                        name = SERVICE_FEES[kind] + " " + dueDate.getMonthValue() + "/" + dueDate.getYear();
+                        amount = SERVICE_FEE_AMOUNTS[kind];
+                    } else {
+                        name = CONTRIBUTIONS[random.nextInt(CONTRIBUTIONS.length)] + " " + dueDate.getYear();
+                        amount = 50_000 * (1 + random.nextInt(10));
+                    }
+                    fees.amounts[index] = amount;
+                    fees.dueDays[index] = dueDate.toEpochDay();
+                    fees.weights[index] = mandatory ? 10 : 1;
+
+                    ps.setString(1, name);
+                    ps.setString(2, mandatory ? "MANDATORY" : "VOLUNTARY");
+                    ps.setDouble(3, amount);
+                    ps.setDate(4, Date.valueOf(dueDate));
+                    ps.setString(5, mandatory ? "Monthly " + name.toLowerCase() : "Voluntary contribution");
+                    ps.setBoolean(6, dueDate.isAfter(today.minusYears(1)));
+                });
+        return fees;
+    }
+
+    private void insertPayments(DatasetSpec spec, Fees fees, LocalDate today, SplittableRandom random) {
+        WeightedIndex feeIndex = new WeightedIndex(fees.weights);
+        long todayDay = today.toEpochDay();
+        batches("INSERT INTO payments (household_id, fee_id, payment_date, amount, amount_paid, verified, notes) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", spec.payments(), (ps, i) -> {
+                    int fee = feeIndex.next(random);
+                    // Long-standing households (low ids) pay slightly more often
+                    int household = (int) (spec.households() * Math.pow(random.nextDouble(), 1.2)) + 1;
+
+                    long lateness = random.nextInt(4) == 0
+                            ? -random.nextInt(15)
+                            : Math.min(120, (long) (-10 * Math.log(1 - random.nextDouble())));
+                    long paymentDay = Math.min(todayDay, fees.dueDays[fee] + lateness);
+                    long age = todayDay - paymentDay;
+
+                    double amount = fees.amounts[fee];
+                    double amountPaid = amount;
+                    String note = null;
+                    int shape = random.nextInt(100);
+                    if (shape < 10) {
+                        amountPaid = Math.round(amount * (0.3 + random.nextDouble() * 0.6) / 1_000) * 1_000.0;
+                        note = "Partial payment, remainder next month";
+                    } else if (shape < 14) {
+                        amountPaid = Math.ceil((amount + 1) / 50_000) * 50_000;
+                    } else if (shape < 20) {
+                        note = NOTES[random.nextInt(NOTES.length)];
+                    }
+                    int verifiedPercent = age > 30 ? 97 : age > 7 ? 75 : 35;
+
+                    ps.setLong(1, household);
+                    ps.setLong(2, fee + 1);
+                    ps.setDate(3, Date.valueOf(LocalDate.ofEpochDay(paymentDay)));
+                    ps.setDouble(4, amount);
+                    ps.setDouble(5, amountPaid);
+                    ps.setBoolean(6, random.nextInt(100) < verifiedPercent);
+                    ps.setString(7, note);
+                });
+    }
+
+    private void insertNotifications(DatasetSpec spec, LocalDate today, SplittableRandom random) {
+        List<Long> admins = jdbc.queryForList("SELECT id FROM users WHERE role = 'ADMIN' ORDER BY id", Long.class);
+        Long adminId = admins.isEmpty() ? null : admins.get(0);
+        LocalDateTime now = today.atTime(LocalDateTime.now().toLocalTime());
+
+        batches("INSERT INTO notifications (title, message, entity_type, entity_id, created_at, is_read, user_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", spec.notifications(), (ps, i) -> {
+                    // Squaring skews towards recent notifications
+                    double u = random.nextDouble();
+                    long ageMinutes = (long) (u * u * HISTORY_DAYS * 24 * 60);
+                    int kind = random.nextInt(100);
+                    if (kind < 85 && spec.payments() > 0) {
+                        long paymentId = 1 + random.nextLong(spec.payments());
+                        ps.setString(1, "New Payment Received");
+                        ps.setString(2, String.format("A new payment of %s has been received for household ID: %d",
+                                SERVICE_FEE_AMOUNTS[random.nextInt(SERVICE_FEE_AMOUNTS.length)],
+                                1 + random.nextInt(spec.households())));
+                        ps.setString(3, "PAYMENT");
+                        ps.setLong(4, paymentId);
+                    } else if (kind < 95) {
+                        long householdId = 1 + random.nextInt(spec.households());
+                        ps.setString(1, "New Household Added");
+                        ps.setString(2, "A new household 'household #" + householdId + "' has been added");
+                        ps.setString(3, "HOUSEHOLD");
+                        ps.setLong(4, householdId);
+                    } else {
+                        long feeId = 1 + random.nextInt(spec.fees());
+                        ps.setString(1, "New Fee Created");
+                        ps.setString(2, "A new fee 'fee #" + feeId + "' has been created");
+                        ps.setString(3, "FEE");
+                        ps.setLong(4, feeId);
+                    }
+                    ps.setTimestamp(5, Timestamp.valueOf(now.minusMinutes(ageMinutes)));
+                    ps.setBoolean(6, random.nextInt(100) < (ageMinutes > 14 * 24 * 60 ? 98 : 40));
+                    if (adminId != null) {
+                        ps.setLong(7, adminId);
+                    } else {
+                        ps.setNull(7, Types.BIGINT);
+                    }
+                });
+    }
+
+    /** Writes {@code total} generated rows in batches, reporting progress for large tables. */
+    private void batches(String sql, long total, RowWriter writer) {
+        String table = sql.substring("INSERT INTO ".length(), sql.indexOf(' ', "INSERT INTO ".length()));
+        long started = System.nanoTime();
+        long nextReport = total / 10;
+        for (long offset = 0; offset < total; offset += BATCH_SIZE) {
+            long from = offset;
+            int size = (int) Math.min(BATCH_SIZE, total - offset);
+            jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    writer.write(ps, from + i);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+            if (total >= 100_000 && offset + size >= nextReport) {
+                System.out.printf("  %s: %,d / %,d%n", table, offset + size, total);
+                nextReport += total / 10;
+            }
+        }
+        System.out.printf("  %s: %,d rows in %.1f s%n", table, total, (System.nanoTime() - started) / 1e9);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, long index) throws SQLException;
+    }
+
+    /** Per-fee attributes the payment generator needs, indexed by fee id - 1. */
+    private static final class Fees {
+        final double[] amounts;
+        final long[] dueDays;
+        final double[] weights;
+
+        Fees(int count) {
+            amounts = new double[count];
+            dueDays = new long[count];
+            weights = new double[count];
+        }
+    }
+
+    /** Draws indexes in proportion to fixed weights by binary search over the cumulative sums. */
+    private static final class WeightedIndex {
+        private final double[] cumulative;
+
+        WeightedIndex(double[] weights) {
+            cumulative = new double[weights.length];
+            double sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+        }
+
+        int next(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
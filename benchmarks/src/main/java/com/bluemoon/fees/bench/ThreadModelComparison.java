@@ -0,0 +1,155 @@
+package com.bluemoon.fees.bench;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the same {@link LoadDriver} mix twice against a fresh embedded backend: once on Tomcat's
+ * platform-thread pool and once with {@code spring.threads.virtual.enabled=true}. The Hikari
+ * pool is fixed in both runs so the comparison shows how each model queues on it at high
+ * concurrency rather than how many connections it can open.
+ *
+ * <p>During the virtual-thread run, JFR {@code jdk.VirtualThreadPinned} events are streamed
+ * in-process and grouped by the innermost application frame, so {@code synchronized} sections
+ * in our code or in the JDBC driver and pool show up with a count and total pinned time.
+ *
+ * <pre>java -cp target/benchmarks.jar com.bluemoon.fees.bench.ThreadModelComparison \
+ *     --dataset=small --threads=400 --pool-size=10 --tomcat-threads=200 --warmup=15s --duration=60s \
+ *     [--pinned-threshold-ms=1] [--mix=...]</pre>
+ *
+ * The virtual-thread run needs a Java 21 runtime and a backend built with {@code -Pjava21};
+ * on older runtimes only the platform-thread run is made.
+ */
+public final class ThreadModelComparison {
+
+    // Short JDBC-bound calls; the full-list pages are dominated by serialization, not waiting
+    private static final String DEFAULT_MIX = "payments.byHousehold:30,stats.household:20,stats.fee:5,"
+            + "households.search:10,notifications.unreadCount:25,payments.create:10";
+
+    private ThreadModelComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        DatasetSpec spec = DatasetSpec.from(arguments);
+        int threads = arguments.integer("threads", 400);
+        int poolSize = arguments.integer("pool-size", 10);
+        int tomcatThreads = arguments.integer("tomcat-threads", 200);
+        long warmup = arguments.seconds("warmup", 15);
+        long duration = arguments.seconds("duration", 60);
+        Map<String, Integer> mix = LoadDriver.parseMix(arguments.string("mix", DEFAULT_MIX));
+
+        List<String> common = List.of(
+                "--rate-limit.enabled=false",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                "--server.tomcat.threads.max=" + tomcatThreads);
+
+        LoadDriver.Report platform = run("platform threads", common, false, spec, mix, threads, warmup, duration, 0);
+        LoadDriver.Report virtual = null;
+        if (Runtime.version().feature() >= 21) {
+            virtual = run("virtual threads", common, true, spec, mix, threads, warmup, duration,
+                    arguments.longValue("pinned-threshold-ms", 1));
+        } else {
+            System.out.printf("%nSkipping the virtual-thread run: Java %d has no virtual threads (use Java 21 and -Pjava21)%n",
+                    Runtime.version().feature());
+        }
+
+        System.out.printf("%n%d client threads, Hikari pool %d, Tomcat max threads %d%n", threads, poolSize, tomcatThreads);
+        System.out.printf("%-18s %9s %7s %9s %9s %9s%n", "Mode", "Req/s", "Errors", "p50 ms", "p99 ms", "p99.9 ms");
+        summary("platform", platform);
+        if (virtual != null) {
+            summary("virtual", virtual);
+        }
+    }
+
+    private static LoadDriver.Report run(String label, List<String> common, boolean virtualThreads, DatasetSpec spec,
+                                         Map<String, Integer> mix, int threads, long warmup, long duration,
+                                         long pinnedThresholdMillis) throws Exception {
+        System.out.printf("%n=== %s ===%n", label);
+        List<String> args = new ArrayList<>(common);
+        args.add("--spring.threads.virtual.enabled=" + virtualThreads);
+        try (EmbeddedBackend backend = EmbeddedBackend.start(args.toArray(String[]::new))) {
+            new SyntheticDataGenerator(backend.bean(JdbcTemplate.class)).generate(spec);
+            LoadDriver driver = new LoadDriver("http://localhost:" + backend.port(), spec);
+            driver.login("admin", "admin123");
+            if (!virtualThreads) {
+                LoadDriver.Report report = driver.run(mix, threads, warmup, duration);
+                report.print(System.out);
+                return report;
+            }
+            try (PinningMonitor pinning = new PinningMonitor(Duration.ofMillis(pinnedThresholdMillis))) {
+                LoadDriver.Report report = driver.run(mix, threads, warmup, duration);
+                report.print(System.out);
+                pinning.print();
+                return report;
+            }
+        }
+    }
+
+    private static void summary(String mode, LoadDriver.Report report) {
+        System.out.printf("%-18s %9.1f %7d %9.2f %9.2f %9.2f%n", mode, report.requestsPerSecond(), report.errors(),
+                report.percentileMillis(50), report.percentileMillis(99), report.percentileMillis(99.9));
+    }
+
+    /** Streams pinned-virtual-thread events and groups them by the innermost non-JDK frame. */
+    private static final class PinningMonitor implements AutoCloseable {
+
+        private final RecordingStream stream = new RecordingStream();
+        private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> nanos = new ConcurrentHashMap<>();
+
+        PinningMonitor(Duration threshold) {
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", event -> {
+                String site = site(event.getStackTrace());
+                counts.computeIfAbsent(site, s -> new LongAdder()).increment();
+                nanos.computeIfAbsent(site, s -> new LongAdder()).add(event.getDuration().toNanos());
+            });
+            stream.startAsync();
+        }
+
+        void print() throws InterruptedException {
+            // The stream delivers events about once a second; wait for the last batch
+            Thread.sleep(1500);
+            stream.close();
+            if (counts.isEmpty()) {
+                System.out.println("\nNo pinned virtual threads recorded");
+                return;
+            }
+            System.out.printf("%n%-90s %9s %12s%n", "Pinned at", "Events", "Total ms");
+            counts.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(nanos.get(b.getKey()).sum(), nanos.get(a.getKey()).sum()))
+                    .limit(15)
+                    .forEach(entry -> System.out.printf("%-90s %9d %12.1f%n", entry.getKey(),
+                            entry.getValue().sum(), nanos.get(entry.getKey()).sum() / 1e6));
+        }
+
+        private static String site(RecordedStackTrace stackTrace) {
+            if (stackTrace == null) {
+                return "(no stack trace)";
+            }
+            for (RecordedFrame frame : stackTrace.getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                    return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+                }
+            }
+            return "(JDK only)";
+        }
+
+        @Override
+        public void close() {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.bluemoon.fees.bench;
+
+import com.bluemoon.fees.util.HierarchicalTimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduling and cancelling a reminder on the {@link HierarchicalTimingWheel} used by the
+ * reminder scheduler, against a priority queue as a delay queue would use it, with
+ * {@code pending} reminders already spread over the next year. The clock stands still, so
+ * nothing fires during the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimingWheelBenchmark {
+
+    private static final long NOW = 1_800_000_000_000L;
+    private static final long YEAR_MILLIS = 365L * 24 * 3600 * 1000;
+
+    @Param({"1000", "100000"})
+    public int pending;
+
+    private HierarchicalTimingWheel<Long> wheel;
+    private PriorityQueue<Long> queue;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        wheel = new HierarchicalTimingWheel<>(1_000, 64, () -> NOW);
+        queue = new PriorityQueue<>();
+        for (int i = 0; i < pending; i++) {
+            long deadline = deadline();
+            wheel.schedule(deadline, deadline);
+            queue.add(deadline);
+        }
+    }
+
+    @Benchmark
+    public boolean wheelScheduleAndCancel() {
+        long deadline = deadline();
+        return wheel.schedule(deadline, deadline).cancel();
+    }
+
+    @Benchmark
+    public boolean priorityQueueScheduleAndCancel() {
+        Long deadline = deadline();
+        queue.add(deadline);
+        return queue.remove(deadline);
+    }
+
+    private long deadline() {
+        return NOW + 2_000 + random.nextLong(YEAR_MILLIS);
+    }
+}